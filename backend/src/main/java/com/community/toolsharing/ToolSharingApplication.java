@@ -2,8 +2,10 @@ package com.community.toolsharing;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ToolSharingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,115 @@
+package com.community.toolsharing.analytics;
+
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.RollupGranularity;
+import com.community.toolsharing.event.BorrowApplied;
+import com.community.toolsharing.event.BorrowApproved;
+import com.community.toolsharing.event.BorrowReturned;
+import com.community.toolsharing.event.DomainEvent;
+import com.community.toolsharing.event.DomainEventListener;
+import com.community.toolsharing.event.ReviewCreated;
+import com.community.toolsharing.event.ToolPublished;
+import com.community.toolsharing.event.UserRegistered;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts lifecycle events into hourly and daily buckets in memory and adds them to
+ * analytics_rollups with one batched upsert per flush, so the rollups grow with the
+ * number of buckets touched rather than the number of events.
+ */
+@Component
+public class AnalyticsRecorder implements DomainEventListener<DomainEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRecorder.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO analytics_rollups (metric, granularity, bucket_start, total) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BucketKey, Long> pending = new ConcurrentHashMap<>();
+
+    public AnalyticsRecorder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Class<DomainEvent> eventType() {
+        return DomainEvent.class;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        AnalyticsMetric metric = metricOf(event);
+        if (metric == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            pending.merge(new BucketKey(metric, granularity, granularity.truncate(now)), 1L, Long::sum);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${analytics.flush-interval-ms:5000}")
+    public void flush() {
+        List<Map.Entry<BucketKey, Long>> batch = new ArrayList<>();
+        for (BucketKey key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null) {
+                batch.add(Map.entry(key, delta));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                        ps.setString(1, entry.getKey().metric().name());
+                        ps.setString(2, entry.getKey().granularity().name());
+                        ps.setTimestamp(3, Timestamp.valueOf(entry.getKey().bucketStart()));
+                        ps.setLong(4, entry.getValue());
+                    }));
+        } catch (RuntimeException e) {
+            // Nothing was written; keep the counts for the next flush.
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+            logger.warn("Analytics rollup flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private static AnalyticsMetric metricOf(DomainEvent event) {
+        if (event instanceof UserRegistered) {
+            return AnalyticsMetric.REGISTRATIONS;
+        } else if (event instanceof ToolPublished) {
+            return AnalyticsMetric.TOOLS_PUBLISHED;
+        } else if (event instanceof BorrowApplied) {
+            return AnalyticsMetric.BORROW_APPLICATIONS;
+        } else if (event instanceof BorrowApproved) {
+            return AnalyticsMetric.BORROWS_APPROVED;
+        } else if (event instanceof BorrowReturned) {
+            return AnalyticsMetric.BORROWS_RETURNED;
+        } else if (event instanceof ReviewCreated) {
+            return AnalyticsMetric.REVIEWS_CREATED;
+        }
+        return null;
+    }
+
+    private record BucketKey(AnalyticsMetric metric, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.community.toolsharing.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small concurrent map whose entries expire at a per-entry deadline. When the size
+ * bound is exceeded, expired entries are purged first and then arbitrary entries are
+ * dropped until the cache is back under 90% of its capacity; callers only ever lose
+ * a cache hit, never correctness.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public BoundedTtlCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public V getOrLoad(K key, Function<K, V> loader, long ttlMillis) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value, System.currentTimeMillis() + ttlMillis);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+    }
+
+    /**
+     * Stores the value unless the key already holds a live entry, in which case that
+     * entry's value is returned and nothing changes. Returns null when the value was stored.
+     */
+    public V putIfAbsent(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        Entry<V> created = new Entry<>(value, expiresAtMillis);
+        Entry<V> current = entries.compute(key,
+                (k, existing) -> existing != null && existing.expiresAtMillis() > now ? existing : created);
+        if (current != created) {
+            return current.value();
+        }
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+        return null;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the entry only while it still holds the given value.
+     */
+    public void invalidate(K key, V value) {
+        entries.computeIfPresent(key, (k, existing) -> existing.value() == value ? null : existing);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void shrink() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int target = maxSize - maxSize / 10;
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
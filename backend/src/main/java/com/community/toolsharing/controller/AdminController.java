@@ -1,15 +1,26 @@
 package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.*;
-import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.ExportFormat;
+import com.community.toolsharing.enums.RollupGranularity;
+import com.community.toolsharing.event.DomainEventBus;
 import com.community.toolsharing.model.Announcement;
 import com.community.toolsharing.model.Tool;
 import com.community.toolsharing.model.User;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
 import com.community.toolsharing.service.*;
 import jakarta.validation.Valid;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -19,29 +30,52 @@ public class AdminController {
 
     private final UserService userService;
     private final ToolService toolService;
-    private final BorrowService borrowService;
+    private final DashboardCounters dashboardCounters;
     private final AnnouncementService announcementService;
+    private final DomainEventBus domainEventBus;
+    private final AnalyticsService analyticsService;
+    private final AdminExportService adminExportService;
 
     public AdminController(UserService userService,
                            ToolService toolService,
-                           BorrowService borrowService,
-                           AnnouncementService announcementService) {
+                           DashboardCounters dashboardCounters,
+                           AnnouncementService announcementService,
+                           DomainEventBus domainEventBus,
+                           AnalyticsService analyticsService,
+                           AdminExportService adminExportService) {
         this.userService = userService;
         this.toolService = toolService;
-        this.borrowService = borrowService;
+        this.dashboardCounters = dashboardCounters;
         this.announcementService = announcementService;
+        this.domainEventBus = domainEventBus;
+        this.analyticsService = analyticsService;
+        this.adminExportService = adminExportService;
     }
 
     @GetMapping("/dashboard")
     public ApiResponse<DashboardStats> getDashboard() {
-        DashboardStats stats = DashboardStats.builder()
-                .totalUsers(userService.getUserCount())
-                .totalTools(toolService.getTotalToolCount())
-                .pendingAuditCount(toolService.getToolCountByStatus(ToolStatus.PENDING_REVIEW))
-                .activeBorrows(borrowService.getActiveBorrowCount())
-                .totalBorrows(borrowService.getTotalBorrowCount())
-                .build();
-        return ApiResponse.success(stats);
+        return ApiResponse.success(dashboardCounters.snapshot());
+    }
+
+    @GetMapping("/events/metrics")
+    public ApiResponse<List<EventListenerStats>> getEventMetrics() {
+        return ApiResponse.success(domainEventBus.metrics());
+    }
+
+    @GetMapping("/analytics")
+    public ApiResponse<List<AnalyticsSeries>> getAnalytics(
+            @RequestParam(required = false) List<AnalyticsMetric> metric,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ApiResponse.success(analyticsService.getSeries(metric, granularity, from, to));
+    }
+
+    @PostMapping("/analytics/backfill")
+    public ApiResponse<Integer> backfillAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ApiResponse.success("Analytics rollups rebuilt", analyticsService.backfill(from, to));
     }
 
     @GetMapping("/users")
@@ -50,6 +84,17 @@ public class AdminController {
         return ApiResponse.success(users);
     }
 
+    @GetMapping("/users/page")
+    public ApiResponse<PageResult<User>> searchUsers(AdminUserQuery query) {
+        return ApiResponse.success(userService.searchUsers(query));
+    }
+
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(AdminUserQuery query,
+                                                             @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return exportResponse("users", format, out -> adminExportService.exportUsers(query, format, out));
+    }
+
     @PutMapping("/users/{id}/status")
     public ApiResponse<User> updateUserStatus(@PathVariable Long id, @RequestBody Map<String, Integer> body) {
         Integer status = body.get("status");
@@ -63,9 +108,47 @@ public class AdminController {
         return ApiResponse.success(tools);
     }
 
+    @GetMapping("/tools/page")
+    public ApiResponse<PageResult<Tool>> searchTools(AdminToolQuery query) {
+        return ApiResponse.success(toolService.searchTools(query));
+    }
+
+    @GetMapping("/tools/export")
+    public ResponseEntity<StreamingResponseBody> exportTools(AdminToolQuery query,
+                                                             @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return exportResponse("tools", format, out -> adminExportService.exportTools(query, format, out));
+    }
+
+    @GetMapping("/tools/pending")
+    public ApiResponse<CursorPage<Tool>> getPendingTools(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return ApiResponse.success(toolService.getPendingQueue(cursor, size));
+    }
+
+    @PostMapping("/tools/audit-leases")
+    public ApiResponse<AuditLeaseBatch> claimAuditLeases(@CurrentUser UserPrincipal currentUser,
+                                                         @RequestParam(required = false) Integer size) {
+        AuditLeaseBatch batch = toolService.claimAuditLeases(currentUser.getId(), size);
+        return ApiResponse.success(batch);
+    }
+
+    @DeleteMapping("/tools/audit-leases")
+    public ApiResponse<Integer> releaseAuditLeases(@CurrentUser UserPrincipal currentUser) {
+        return ApiResponse.success("Audit leases released", toolService.releaseAuditLeases(currentUser.getId()));
+    }
+
+    @PutMapping("/tools/batch-audit")
+    public ApiResponse<List<BatchAuditResult>> auditTools(@CurrentUser UserPrincipal currentUser,
+                                                          @Valid @RequestBody BatchAuditRequest request) {
+        List<BatchAuditResult> results = toolService.auditBatch(currentUser.getId(), request);
+        return ApiResponse.success(results);
+    }
+
     @PutMapping("/tools/{id}/audit")
-    public ApiResponse<Tool> auditTool(@PathVariable Long id, @Valid @RequestBody AuditRequest request) {
-        Tool tool = toolService.auditTool(id, request);
+    public ApiResponse<Tool> auditTool(@CurrentUser UserPrincipal currentUser,
+                                       @PathVariable Long id,
+                                       @Valid @RequestBody AuditRequest request) {
+        Tool tool = toolService.auditTool(currentUser.getId(), id, request);
         return ApiResponse.success("Tool audit completed", tool);
     }
 
@@ -82,9 +165,9 @@ public class AdminController {
     }
 
     @PostMapping("/announcements")
-    public ApiResponse<Announcement> createAnnouncement(@Valid @RequestBody AnnouncementRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Announcement announcement = announcementService.create(username, request);
+    public ApiResponse<Announcement> createAnnouncement(@CurrentUser UserPrincipal currentUser,
+                                                        @Valid @RequestBody AnnouncementRequest request) {
+        Announcement announcement = announcementService.create(currentUser.getId(), request);
         return ApiResponse.success("Announcement created", announcement);
     }
 
@@ -100,4 +183,15 @@ public class AdminController {
         announcementService.delete(id);
         return ApiResponse.success("Announcement deleted", null);
     }
+
+    private static ResponseEntity<StreamingResponseBody> exportResponse(String name, ExportFormat format,
+                                                                        StreamingResponseBody body) {
+        boolean csv = format == ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
 }
@@ -5,9 +5,10 @@ import com.community.toolsharing.dto.LoginRequest;
 import com.community.toolsharing.dto.ProfileUpdateRequest;
 import com.community.toolsharing.dto.RegisterRequest;
 import com.community.toolsharing.model.User;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
 import com.community.toolsharing.service.UserService;
 import jakarta.validation.Valid;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -33,16 +34,15 @@ public class AuthController {
     }
 
     @GetMapping("/profile")
-    public ApiResponse<User> getProfile() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userService.getProfile(username);
+    public ApiResponse<User> getProfile(@CurrentUser UserPrincipal currentUser) {
+        User user = userService.getProfile(currentUser.getId());
         return ApiResponse.success(user);
     }
 
     @PutMapping("/profile")
-    public ApiResponse<User> updateProfile(@RequestBody ProfileUpdateRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userService.updateProfile(username, request);
+    public ApiResponse<User> updateProfile(@CurrentUser UserPrincipal currentUser,
+                                           @RequestBody ProfileUpdateRequest request) {
+        User user = userService.updateProfile(currentUser.getId(), request);
         return ApiResponse.success("Profile updated successfully", user);
     }
 }
@@ -1,11 +1,16 @@
 package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.ApiResponse;
+import com.community.toolsharing.dto.BatchDecisionRequest;
+import com.community.toolsharing.dto.BatchDecisionResult;
 import com.community.toolsharing.dto.BorrowRequest;
+import com.community.toolsharing.dto.CursorPage;
 import com.community.toolsharing.model.BorrowRecord;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
+import com.community.toolsharing.service.BorrowArchiveService;
 import com.community.toolsharing.service.BorrowService;
 import jakarta.validation.Valid;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,57 +20,73 @@ import java.util.List;
 public class BorrowController {
 
     private final BorrowService borrowService;
+    private final BorrowArchiveService borrowArchiveService;
 
-    public BorrowController(BorrowService borrowService) {
+    public BorrowController(BorrowService borrowService, BorrowArchiveService borrowArchiveService) {
         this.borrowService = borrowService;
+        this.borrowArchiveService = borrowArchiveService;
     }
 
     @PostMapping
-    public ApiResponse<BorrowRecord> applyBorrow(@Valid @RequestBody BorrowRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        BorrowRecord record = borrowService.applyBorrow(username, request);
+    public ApiResponse<BorrowRecord> applyBorrow(@CurrentUser UserPrincipal currentUser,
+                                                 @Valid @RequestBody BorrowRequest request) {
+        BorrowRecord record = borrowService.applyBorrow(currentUser.getId(), request);
         return ApiResponse.success("Borrow application submitted successfully", record);
     }
 
     @GetMapping("/my")
-    public ApiResponse<List<BorrowRecord>> getMyBorrows() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<BorrowRecord> records = borrowService.getMyBorrows(username);
+    public ApiResponse<List<BorrowRecord>> getMyBorrows(@CurrentUser UserPrincipal currentUser) {
+        List<BorrowRecord> records = borrowService.getMyBorrows(currentUser.getId());
         return ApiResponse.success(records);
     }
 
     @GetMapping("/received")
-    public ApiResponse<List<BorrowRecord>> getReceivedBorrows() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<BorrowRecord> records = borrowService.getReceivedBorrows(username);
+    public ApiResponse<List<BorrowRecord>> getReceivedBorrows(@CurrentUser UserPrincipal currentUser) {
+        List<BorrowRecord> records = borrowService.getReceivedBorrows(currentUser.getId());
         return ApiResponse.success(records);
     }
 
+    @GetMapping("/history")
+    public ApiResponse<CursorPage<BorrowRecord>> getHistory(@CurrentUser UserPrincipal currentUser,
+                                                           @RequestParam(required = false) String role,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size) {
+        CursorPage<BorrowRecord> page = borrowArchiveService.getHistory(currentUser.getId(), role, cursor, size);
+        return ApiResponse.success(page);
+    }
+
     @PutMapping("/{id}/approve")
-    public ApiResponse<BorrowRecord> approveBorrow(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        BorrowRecord record = borrowService.approveBorrow(username, id);
+    public ApiResponse<BorrowRecord> approveBorrow(@CurrentUser UserPrincipal currentUser,
+                                                   @PathVariable Long id) {
+        BorrowRecord record = borrowService.approveBorrow(currentUser.getId(), id);
         return ApiResponse.success("Borrow request approved", record);
     }
 
     @PutMapping("/{id}/reject")
-    public ApiResponse<BorrowRecord> rejectBorrow(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        BorrowRecord record = borrowService.rejectBorrow(username, id);
+    public ApiResponse<BorrowRecord> rejectBorrow(@CurrentUser UserPrincipal currentUser,
+                                                  @PathVariable Long id) {
+        BorrowRecord record = borrowService.rejectBorrow(currentUser.getId(), id);
         return ApiResponse.success("Borrow request rejected", record);
     }
 
+    @PutMapping("/batch-decision")
+    public ApiResponse<List<BatchDecisionResult>> decideBatch(@CurrentUser UserPrincipal currentUser,
+                                                             @Valid @RequestBody BatchDecisionRequest request) {
+        List<BatchDecisionResult> results = borrowService.decideBatch(currentUser.getId(), request);
+        return ApiResponse.success(results);
+    }
+
     @PutMapping("/{id}/pickup")
-    public ApiResponse<BorrowRecord> confirmPickup(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        BorrowRecord record = borrowService.confirmPickup(username, id);
+    public ApiResponse<BorrowRecord> confirmPickup(@CurrentUser UserPrincipal currentUser,
+                                                   @PathVariable Long id) {
+        BorrowRecord record = borrowService.confirmPickup(currentUser.getId(), id);
         return ApiResponse.success("Pickup confirmed", record);
     }
 
     @PutMapping("/{id}/return")
-    public ApiResponse<BorrowRecord> confirmReturn(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        BorrowRecord record = borrowService.confirmReturn(username, id);
+    public ApiResponse<BorrowRecord> confirmReturn(@CurrentUser UserPrincipal currentUser,
+                                                   @PathVariable Long id) {
+        BorrowRecord record = borrowService.confirmReturn(currentUser.getId(), id);
         return ApiResponse.success("Return confirmed", record);
     }
 }
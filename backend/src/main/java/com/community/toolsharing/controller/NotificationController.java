@@ -2,9 +2,12 @@ package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.ApiResponse;
 import com.community.toolsharing.model.Notification;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
 import com.community.toolsharing.service.NotificationService;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,30 +22,37 @@ public class NotificationController {
     }
 
     @GetMapping
-    public ApiResponse<List<Notification>> getMyNotifications() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<Notification> notifications = notificationService.getMyNotifications(username);
+    public ApiResponse<List<Notification>> getMyNotifications(@CurrentUser UserPrincipal currentUser) {
+        List<Notification> notifications = notificationService.getMyNotifications(currentUser.getId());
         return ApiResponse.success(notifications);
     }
 
     @GetMapping("/unread-count")
-    public ApiResponse<Long> getUnreadCount() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        long count = notificationService.getUnreadCount(username);
+    public ApiResponse<Long> getUnreadCount(@CurrentUser UserPrincipal currentUser) {
+        long count = notificationService.getUnreadCount(currentUser.getId());
         return ApiResponse.success(count);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUser UserPrincipal currentUser) {
+        return notificationService.openStream(currentUser.getId());
+    }
+
     @PutMapping("/{id}/read")
-    public ApiResponse<Void> markAsRead(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        notificationService.markAsRead(username, id);
+    public ApiResponse<Void> markAsRead(@CurrentUser UserPrincipal currentUser, @PathVariable Long id) {
+        notificationService.markAsRead(currentUser.getId(), id);
         return ApiResponse.success("Notification marked as read", null);
     }
 
+    @PutMapping("/read")
+    public ApiResponse<Integer> markAsRead(@CurrentUser UserPrincipal currentUser, @RequestBody List<Long> ids) {
+        int updated = notificationService.markAsRead(currentUser.getId(), ids);
+        return ApiResponse.success("Notifications marked as read", updated);
+    }
+
     @PutMapping("/read-all")
-    public ApiResponse<Void> markAllAsRead() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        notificationService.markAllAsRead(username);
+    public ApiResponse<Void> markAllAsRead(@CurrentUser UserPrincipal currentUser) {
+        notificationService.markAllAsRead(currentUser.getId());
         return ApiResponse.success("All notifications marked as read", null);
     }
 }
@@ -1,10 +1,11 @@
 package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.ApiResponse;
+import com.community.toolsharing.dto.RankingEntry;
 import com.community.toolsharing.model.PointRecord;
-import com.community.toolsharing.model.User;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
 import com.community.toolsharing.service.PointService;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,15 +23,20 @@ public class PointController {
     }
 
     @GetMapping("/ranking")
-    public ApiResponse<List<User>> getRanking() {
-        List<User> ranking = pointService.getRanking();
+    public ApiResponse<List<RankingEntry>> getRanking() {
+        List<RankingEntry> ranking = pointService.getRanking();
         return ApiResponse.success(ranking);
     }
 
     @GetMapping("/my")
-    public ApiResponse<List<PointRecord>> getMyPoints() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<PointRecord> records = pointService.getMyPoints(username);
+    public ApiResponse<List<PointRecord>> getMyPoints(@CurrentUser UserPrincipal currentUser) {
+        List<PointRecord> records = pointService.getMyPoints(currentUser.getId());
         return ApiResponse.success(records);
     }
+
+    @GetMapping("/my-rank")
+    public ApiResponse<RankingEntry> getMyRank(@CurrentUser UserPrincipal currentUser) {
+        RankingEntry entry = pointService.getMyRank(currentUser.getId());
+        return ApiResponse.success(entry);
+    }
 }
@@ -2,10 +2,13 @@ package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.ApiResponse;
 import com.community.toolsharing.dto.ReviewRequest;
+import com.community.toolsharing.model.OwnerRatingStats;
 import com.community.toolsharing.model.Review;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
+import com.community.toolsharing.service.RatingStatsService;
 import com.community.toolsharing.service.ReviewService;
 import jakarta.validation.Valid;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,15 +18,17 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final RatingStatsService ratingStatsService;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, RatingStatsService ratingStatsService) {
         this.reviewService = reviewService;
+        this.ratingStatsService = ratingStatsService;
     }
 
     @PostMapping
-    public ApiResponse<Review> createReview(@Valid @RequestBody ReviewRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Review review = reviewService.createReview(username, request);
+    public ApiResponse<Review> createReview(@CurrentUser UserPrincipal currentUser,
+                                            @Valid @RequestBody ReviewRequest request) {
+        Review review = reviewService.createReview(currentUser.getId(), request);
         return ApiResponse.success("Review created successfully", review);
     }
 
@@ -33,10 +38,14 @@ public class ReviewController {
         return ApiResponse.success(reviews);
     }
 
+    @GetMapping("/owner/{ownerId}/stats")
+    public ApiResponse<OwnerRatingStats> getOwnerStats(@PathVariable Long ownerId) {
+        return ApiResponse.success(ratingStatsService.getOwnerStats(ownerId));
+    }
+
     @GetMapping("/my")
-    public ApiResponse<List<Review>> getMyReviews() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<Review> reviews = reviewService.getMyReviews(username);
+    public ApiResponse<List<Review>> getMyReviews(@CurrentUser UserPrincipal currentUser) {
+        List<Review> reviews = reviewService.getMyReviews(currentUser.getId());
         return ApiResponse.success(reviews);
     }
 }
@@ -1,13 +1,19 @@
 package com.community.toolsharing.controller;
 
 import com.community.toolsharing.dto.ApiResponse;
+import com.community.toolsharing.dto.CursorPage;
+import com.community.toolsharing.dto.ToolAvailability;
+import com.community.toolsharing.dto.ToolCatalogQuery;
 import com.community.toolsharing.dto.ToolRequest;
 import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
 import com.community.toolsharing.service.ToolService;
 import jakarta.validation.Valid;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -28,37 +34,60 @@ public class ToolController {
         return ApiResponse.success(tools);
     }
 
+    @GetMapping("/catalog")
+    public ApiResponse<CursorPage<Tool>> getToolCatalog(ToolCatalogQuery query) {
+        CursorPage<Tool> page = toolService.getToolCatalog(query);
+        return ApiResponse.success(page);
+    }
+
+    @GetMapping("/free")
+    public ApiResponse<List<Tool>> getFreeTools(
+            @RequestParam String category,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Integer size) {
+        List<Tool> tools = toolService.findFreeTools(category, start, end, size);
+        return ApiResponse.success(tools);
+    }
+
     @GetMapping("/{id}")
     public ApiResponse<Tool> getToolById(@PathVariable Long id) {
         Tool tool = toolService.getToolById(id);
         return ApiResponse.success(tool);
     }
 
+    @GetMapping("/{id}/availability")
+    public ApiResponse<ToolAvailability> getAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        ToolAvailability availability = toolService.getAvailability(id, start, end);
+        return ApiResponse.success(availability);
+    }
+
     @PostMapping
-    public ApiResponse<Tool> publishTool(@Valid @RequestBody ToolRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Tool tool = toolService.publishTool(username, request);
+    public ApiResponse<Tool> publishTool(@CurrentUser UserPrincipal currentUser,
+                                         @Valid @RequestBody ToolRequest request) {
+        Tool tool = toolService.publishTool(currentUser.getId(), request);
         return ApiResponse.success("Tool published successfully, pending review", tool);
     }
 
     @PutMapping("/{id}")
-    public ApiResponse<Tool> updateTool(@PathVariable Long id, @Valid @RequestBody ToolRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Tool tool = toolService.updateTool(username, id, request);
+    public ApiResponse<Tool> updateTool(@CurrentUser UserPrincipal currentUser,
+                                        @PathVariable Long id, @Valid @RequestBody ToolRequest request) {
+        Tool tool = toolService.updateTool(currentUser.getId(), id, request);
         return ApiResponse.success("Tool updated successfully", tool);
     }
 
     @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteTool(@PathVariable Long id) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        toolService.deleteTool(username, id);
+    public ApiResponse<Void> deleteTool(@CurrentUser UserPrincipal currentUser, @PathVariable Long id) {
+        toolService.deleteTool(currentUser.getId(), id);
         return ApiResponse.success("Tool deleted successfully", null);
     }
 
     @GetMapping("/my")
-    public ApiResponse<List<Tool>> getMyTools() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<Tool> tools = toolService.getMyTools(username);
+    public ApiResponse<List<Tool>> getMyTools(@CurrentUser UserPrincipal currentUser) {
+        List<Tool> tools = toolService.getMyTools(currentUser.getId());
         return ApiResponse.success(tools);
     }
 }
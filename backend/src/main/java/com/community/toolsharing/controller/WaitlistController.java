@@ -0,0 +1,39 @@
+package com.community.toolsharing.controller;
+
+import com.community.toolsharing.dto.ApiResponse;
+import com.community.toolsharing.dto.WaitlistPosition;
+import com.community.toolsharing.security.CurrentUser;
+import com.community.toolsharing.security.UserPrincipal;
+import com.community.toolsharing.service.WaitlistService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping("/{toolId}")
+    public ApiResponse<WaitlistPosition> join(@CurrentUser UserPrincipal currentUser, @PathVariable Long toolId) {
+        WaitlistPosition position = waitlistService.join(currentUser.getId(), toolId);
+        return ApiResponse.success("Joined the waitlist", position);
+    }
+
+    @DeleteMapping("/{toolId}")
+    public ApiResponse<Void> leave(@CurrentUser UserPrincipal currentUser, @PathVariable Long toolId) {
+        waitlistService.leave(currentUser.getId(), toolId);
+        return ApiResponse.success("Left the waitlist", null);
+    }
+
+    @GetMapping("/my")
+    public ApiResponse<List<WaitlistPosition>> getMyWaitlist(@CurrentUser UserPrincipal currentUser) {
+        List<WaitlistPosition> positions = waitlistService.getMyWaitlist(currentUser.getId());
+        return ApiResponse.success(positions);
+    }
+}
@@ -0,0 +1,35 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.ToolStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminToolQuery {
+
+    private String keyword;
+
+    private ToolStatus status;
+
+    private String category;
+
+    private Long userId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Integer page;
+
+    private Integer size;
+
+    private String sort;
+}
@@ -0,0 +1,33 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminUserQuery {
+
+    private String keyword;
+
+    private UserRole role;
+
+    private Integer status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Integer page;
+
+    private Integer size;
+
+    private String sort;
+}
@@ -0,0 +1,16 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsPoint {
+
+    private LocalDateTime time;
+    private long value;
+}
@@ -0,0 +1,22 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsSeries {
+
+    private AnalyticsMetric metric;
+    private RollupGranularity granularity;
+    private long total;
+    private List<AnalyticsPoint> points;
+}
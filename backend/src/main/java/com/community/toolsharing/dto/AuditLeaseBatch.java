@@ -0,0 +1,18 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.model.Tool;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLeaseBatch {
+
+    private LocalDateTime expireTime;
+    private List<Tool> tools;
+}
@@ -0,0 +1,25 @@
+package com.community.toolsharing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAuditRequest {
+
+    @NotEmpty(message = "At least one tool id is required")
+    @Size(max = 500, message = "At most 500 tools can be audited at once")
+    private List<Long> ids;
+
+    @NotBlank(message = "Action is required (approve/reject)")
+    private String action;
+
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.ToolStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchAuditResult {
+
+    private Long id;
+    private boolean success;
+    private ToolStatus status;
+    private String message;
+}
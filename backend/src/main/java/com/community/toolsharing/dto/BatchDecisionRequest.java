@@ -0,0 +1,23 @@
+package com.community.toolsharing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDecisionRequest {
+
+    @NotEmpty(message = "At least one borrow record id is required")
+    @Size(max = 100, message = "At most 100 borrow records can be decided at once")
+    private List<Long> ids;
+
+    @NotBlank(message = "Action is required (approve/reject)")
+    private String action;
+}
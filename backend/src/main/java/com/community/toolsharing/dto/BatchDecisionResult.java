@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.BorrowStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchDecisionResult {
+
+    private Long id;
+    private boolean success;
+    private BorrowStatus status;
+    private String message;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,4 +16,8 @@ public class BorrowRequest {
     private Long toolId;
 
     private String remark;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
 }
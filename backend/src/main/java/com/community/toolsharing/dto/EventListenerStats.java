@@ -0,0 +1,23 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventListenerStats {
+
+    private String listener;
+    private String eventType;
+    private long delivered;
+    private long failed;
+    private long dropped;
+    private int pending;
+    private int capacity;
+    private double averageMillis;
+    private double maxMillis;
+}
@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationMessage {
+
+    private Long userId;
+    private String title;
+    private String content;
+    private String type;
+    private Long relatedId;
+}
@@ -0,0 +1,23 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResult<T> {
+
+    private List<T> items;
+    private long total;
+    private int page;
+    private int size;
+
+    public static <T> PageResult<T> of(Page<T> page) {
+        return new PageResult<>(page.getContent(), page.getTotalElements(), page.getNumber(), page.getSize());
+    }
+}
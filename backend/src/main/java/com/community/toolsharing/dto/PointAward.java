@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.enums.PointType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PointAward {
+
+    private Long userId;
+    private Integer points;
+    private PointType type;
+    private String description;
+}
@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RankingEntry {
+
+    private Long id;
+    private String nickname;
+    private String avatar;
+    private Integer points;
+    private Integer rank;
+}
@@ -0,0 +1,38 @@
+package com.community.toolsharing.dto;
+
+import com.community.toolsharing.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page sorted by (average rating, id), encoded the same
+ * way as {@link KeysetCursor}.
+ */
+@Data
+@AllArgsConstructor
+public class RatingCursor {
+
+    private BigDecimal rating;
+    private Long id;
+
+    public String encode() {
+        String raw = rating.toPlainString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RatingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new RatingCursor(
+                    new BigDecimal(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
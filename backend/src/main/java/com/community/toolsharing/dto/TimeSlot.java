@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSlot {
+
+    private LocalDateTime start;
+    // Null when the slot has no planned end (borrows made without a time range).
+    private LocalDateTime end;
+}
@@ -0,0 +1,19 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ToolAvailability {
+
+    private Long toolId;
+    private Boolean free;
+    private List<TimeSlot> reservations;
+}
@@ -0,0 +1,25 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolCatalogQuery {
+
+    private String category;
+
+    private String condition;
+
+    private String location;
+
+    private String keyword;
+
+    private String sort;
+
+    private String cursor;
+
+    private Integer size;
+}
@@ -0,0 +1,20 @@
+package com.community.toolsharing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistPosition {
+
+    private Long toolId;
+    private String toolName;
+    private Integer position;
+    private LocalDateTime joinTime;
+}
@@ -0,0 +1,10 @@
+package com.community.toolsharing.enums;
+
+public enum AnalyticsMetric {
+    REGISTRATIONS,
+    TOOLS_PUBLISHED,
+    BORROW_APPLICATIONS,
+    BORROWS_APPROVED,
+    BORROWS_RETURNED,
+    REVIEWS_CREATED
+}
@@ -5,5 +5,14 @@ public enum BorrowStatus {
     APPROVED,
     REJECTED,
     PICKED_UP,
-    RETURNED
+    RETURNED;
+
+    public boolean canTransitionTo(BorrowStatus next) {
+        return switch (this) {
+            case APPLIED -> next == APPROVED || next == REJECTED;
+            case APPROVED -> next == PICKED_UP || next == REJECTED;
+            case PICKED_UP -> next == RETURNED;
+            case REJECTED, RETURNED -> false;
+        };
+    }
 }
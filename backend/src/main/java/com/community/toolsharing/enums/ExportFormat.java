@@ -0,0 +1,6 @@
+package com.community.toolsharing.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
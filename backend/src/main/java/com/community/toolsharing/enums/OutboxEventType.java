@@ -0,0 +1,7 @@
+package com.community.toolsharing.enums;
+
+public enum OutboxEventType {
+    NOTIFICATION,
+    NOTIFICATION_BATCH,
+    POINTS
+}
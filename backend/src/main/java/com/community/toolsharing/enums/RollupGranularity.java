@@ -0,0 +1,25 @@
+package com.community.toolsharing.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY;
+
+    public LocalDateTime truncate(LocalDateTime time) {
+        return time.truncatedTo(this == HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return this == HOUR ? bucketStart.plusHours(1) : bucketStart.plusDays(1);
+    }
+
+    /**
+     * The first bucket boundary at or after the given time.
+     */
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime bucketStart = truncate(time);
+        return bucketStart.equals(time) ? time : next(bucketStart);
+    }
+}
@@ -6,5 +6,13 @@ public enum ToolStatus {
     REJECTED,
     AVAILABLE,
     BORROWED,
-    OFFLINE
+    OFFLINE;
+
+    /**
+     * Only tools awaiting review may be audited. BORROWED -> AVAILABLE belongs to the
+     * return flow alone, so an audit can never release a tool that is still lent out.
+     */
+    public boolean isAuditable() {
+        return this == PENDING_REVIEW;
+    }
 }
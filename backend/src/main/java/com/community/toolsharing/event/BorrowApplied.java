@@ -0,0 +1,4 @@
+package com.community.toolsharing.event;
+
+public record BorrowApplied(Long recordId, Long toolId, Long borrowerId, Long ownerId) implements DomainEvent {
+}
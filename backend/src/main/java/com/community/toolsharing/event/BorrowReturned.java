@@ -0,0 +1,4 @@
+package com.community.toolsharing.event;
+
+public record BorrowReturned(Long recordId, Long toolId, Long borrowerId, Long ownerId) implements ToolEvent {
+}
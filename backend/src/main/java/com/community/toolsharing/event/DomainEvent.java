@@ -0,0 +1,8 @@
+package com.community.toolsharing.event;
+
+/**
+ * Something that happened to the domain, published by a service once its
+ * transaction commits and consumed by {@link DomainEventListener}s.
+ */
+public interface DomainEvent {
+}
@@ -0,0 +1,186 @@
+package com.community.toolsharing.event;
+
+import com.community.toolsharing.dto.EventListenerStats;
+import com.community.toolsharing.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers domain events to listeners after the publishing transaction commits.
+ * Every listener owns a bounded mailbox drained by at most one pool thread at a
+ * time, so it sees events in order and a slow listener only delays itself. Publishing
+ * never blocks the committing thread: when a mailbox is full the event is dropped for
+ * that listener and counted, and listeners that mirror database state reconcile
+ * periodically to recover from such drops.
+ */
+@Component
+public class DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    private static final int DRAIN_BATCH = 100;
+
+    private final ObjectProvider<DomainEventListener<?>> listenerProvider;
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private volatile List<Subscription> subscriptions;
+
+    public DomainEventBus(ObjectProvider<DomainEventListener<?>> listenerProvider,
+                          @Value("${events.listener-threads:4}") int listenerThreads,
+                          @Value("${events.queue-capacity:1000}") int queueCapacity) {
+        this.listenerProvider = listenerProvider;
+        // At most one drain task per listener is ever queued, so the task queue stays small.
+        this.executor = new ThreadPoolExecutor(listenerThreads, listenerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("domain-event-"));
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Hands the event to its listeners once the current transaction commits; dropped
+     * with it on rollback. Outside a transaction the event is dispatched at once.
+     */
+    public void publish(DomainEvent event) {
+        TransactionHooks.afterCommit(() -> dispatch(event));
+    }
+
+    public List<EventListenerStats> metrics() {
+        return subscriptions().stream().map(Subscription::stats).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warn("Domain event listeners did not finish before shutdown");
+            executor.shutdownNow();
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        for (Subscription subscription : subscriptions()) {
+            if (subscription.listener.eventType().isInstance(event)) {
+                subscription.enqueue(event);
+            }
+        }
+    }
+
+    // Resolved on first use: listeners may depend on services that publish through this bus.
+    private List<Subscription> subscriptions() {
+        List<Subscription> resolved = subscriptions;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = subscriptions;
+                if (resolved == null) {
+                    resolved = listenerProvider.orderedStream().map(Subscription::new).toList();
+                    subscriptions = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private final class Subscription {
+
+        private final DomainEventListener<?> listener;
+        private final String name;
+        private final BlockingQueue<DomainEvent> mailbox;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Subscription(DomainEventListener<?> listener) {
+            this.listener = listener;
+            this.name = ClassUtils.getUserClass(listener).getSimpleName();
+            this.mailbox = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void enqueue(DomainEvent event) {
+            if (!mailbox.offer(event)) {
+                dropped.increment();
+                logger.warn("Event listener {} is saturated, dropped {}", name, event);
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    logger.warn("Could not schedule event listener {}: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int i = 0; i < DRAIN_BATCH; i++) {
+                    DomainEvent event = mailbox.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    deliver(event);
+                }
+            } finally {
+                scheduled.set(false);
+                // Re-check after releasing the flag so an event offered meanwhile is not stranded.
+                if (!mailbox.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void deliver(DomainEvent event) {
+            long start = System.nanoTime();
+            try {
+                ((DomainEventListener) listener).onEvent(event);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.error("Event listener {} failed on {}", name, event, e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                totalNanos.add(elapsed);
+                maxNanos.accumulate(elapsed);
+            }
+        }
+
+        private EventListenerStats stats() {
+            long handled = delivered.sum() + failed.sum();
+            return EventListenerStats.builder()
+                    .listener(name)
+                    .eventType(listener.eventType().getSimpleName())
+                    .delivered(delivered.sum())
+                    .failed(failed.sum())
+                    .dropped(dropped.sum())
+                    .pending(mailbox.size())
+                    .capacity(queueCapacity)
+                    .averageMillis(handled == 0 ? 0 : totalNanos.sum() / 1e6 / handled)
+                    .maxMillis(maxNanos.get() / 1e6)
+                    .build();
+        }
+    }
+}
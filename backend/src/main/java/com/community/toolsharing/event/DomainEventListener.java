@@ -0,0 +1,13 @@
+package com.community.toolsharing.event;
+
+/**
+ * A consumer of domain events, picked up by {@link DomainEventBus} from the
+ * application context. Each listener receives the events assignable to its
+ * {@link #eventType()} one at a time and in publication order.
+ */
+public interface DomainEventListener<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void onEvent(E event);
+}
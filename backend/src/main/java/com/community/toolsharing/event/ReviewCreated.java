@@ -0,0 +1,4 @@
+package com.community.toolsharing.event;
+
+public record ReviewCreated(Long reviewId, Long toolId, Long reviewerId, Integer rating) implements DomainEvent {
+}
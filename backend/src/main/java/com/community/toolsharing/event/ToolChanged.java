@@ -0,0 +1,9 @@
+package com.community.toolsharing.event;
+
+import com.community.toolsharing.enums.ToolStatus;
+
+/**
+ * The tool was edited or moved between statuses; status is null once it has been deleted.
+ */
+public record ToolChanged(Long toolId, ToolStatus previousStatus, ToolStatus status) implements ToolEvent {
+}
@@ -0,0 +1,9 @@
+package com.community.toolsharing.event;
+
+/**
+ * An event after which the tool's stored state may have changed.
+ */
+public interface ToolEvent extends DomainEvent {
+
+    Long toolId();
+}
@@ -0,0 +1,4 @@
+package com.community.toolsharing.event;
+
+public record ToolPublished(Long toolId, Long ownerId) implements ToolEvent {
+}
@@ -0,0 +1,4 @@
+package com.community.toolsharing.event;
+
+public record UserRegistered(Long userId) implements DomainEvent {
+}
@@ -0,0 +1,8 @@
+package com.community.toolsharing.exception;
+
+public class ConflictException extends BusinessException {
+
+    public ConflictException(String message) {
+        super(409, message);
+    }
+}
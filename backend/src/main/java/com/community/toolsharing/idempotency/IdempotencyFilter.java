@@ -0,0 +1,194 @@
+package com.community.toolsharing.idempotency;
+
+import com.community.toolsharing.dto.ApiResponse;
+import com.community.toolsharing.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Makes mutating requests that carry an Idempotency-Key header safe to retry. The first
+ * request under a key runs normally and its response is stored; duplicates with the same
+ * method, path and body get that response replayed, waiting for it if the first is still
+ * running. Keys are scoped to the authenticated user, so anonymous requests (including
+ * login and registration) are never deduplicated. Only successful responses are stored,
+ * and never those that hand out credentials: a client error may stem from a state that
+ * has since changed, so a retry runs again. Only JSON or empty bodies are buffered, up
+ * to a size limit. Ordered right after the security filter chain so the user is known.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMillis;
+    private final int maxResponseBytes;
+    private final int maxRequestBytes;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             ObjectMapper objectMapper,
+                             @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                             @Value("${idempotency.max-response-bytes:65536}") int maxResponseBytes,
+                             @Value("${idempotency.max-request-bytes:65536}") int maxRequestBytes) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maxResponseBytes = maxResponseBytes;
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MUTATING_METHODS.contains(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !request.getRequestURI().startsWith("/api/")
+                || request.getRequestURI().startsWith(AUTH_PATH_PREFIX)
+                || !hasJsonOrNoBody(request)
+                || currentUserId() == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        if (request.getContentLengthLong() > maxRequestBytes) {
+            writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, requestTooLargeMessage());
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, maxRequestBytes);
+        if (cachedRequest.isTooLarge()) {
+            writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, requestTooLargeMessage());
+            return;
+        }
+        String scopedKey = "user:" + currentUserId() + ":" + key;
+        IdempotencyStore.Execution execution = new IdempotencyStore.Execution(fingerprint(cachedRequest));
+        IdempotencyStore.Execution existing = idempotencyStore.claim(scopedKey, execution);
+        if (existing != null) {
+            replay(existing, execution.fingerprint(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            if (isReplayable(cachingResponse.getStatus())
+                    && cachingResponse.getContentSize() <= maxResponseBytes
+                    && !carriesCredentials(cachingResponse)) {
+                idempotencyStore.complete(scopedKey, execution, new StoredResponse(cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.abandon(scopedKey, execution);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.Execution existing, String fingerprint,
+                        HttpServletResponse response) throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            writeError(response, 422, HEADER + " was already used for a different request");
+            return;
+        }
+        StoredResponse stored = existing.await(waitTimeoutMillis);
+        if (stored == null) {
+            writeError(response, HttpServletResponse.SC_CONFLICT,
+                    "A request with this " + HEADER + " is still in progress or failed, please retry");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static boolean isReplayable(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static boolean hasJsonOrNoBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private String requestTooLargeMessage() {
+        return "Requests with an " + HEADER + " may carry at most " + maxRequestBytes + " bytes";
+    }
+
+    private static boolean carriesCredentials(HttpServletResponse response) {
+        return response.containsHeader(HttpHeaders.AUTHORIZATION) || response.containsHeader(HttpHeaders.SET_COOKIE);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(status, message));
+    }
+}
@@ -0,0 +1,138 @@
+package com.community.toolsharing.idempotency;
+
+import com.community.toolsharing.cache.BoundedTtlCache;
+import com.community.toolsharing.model.IdempotencyRecord;
+import com.community.toolsharing.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executions registered under idempotency keys, kept in a bounded in-memory cache for
+ * the key TTL. With idempotency.persistent enabled, finished responses are also written
+ * to idempotency_keys so they survive restarts and are shared between instances.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final BoundedTtlCache<String, Execution> executions;
+    private final long ttlMillis;
+    private final boolean persistent;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${idempotency.persistent:false}") boolean persistent) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.executions = new BoundedTtlCache<>(maxEntries);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.persistent = persistent;
+    }
+
+    /**
+     * Registers the execution under the key and returns null, or returns the execution
+     * that already holds the key, which may still be in flight.
+     */
+    public Execution claim(String key, Execution execution) {
+        long now = System.currentTimeMillis();
+        Execution existing = executions.putIfAbsent(key, execution, now + ttlMillis);
+        if (existing != null || !persistent) {
+            return existing;
+        }
+
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByScopeKeyAndExpireTimeAfter(key, LocalDateTime.now())
+                .orElse(null);
+        if (record == null) {
+            return null;
+        }
+        Execution replay = new Execution(record.getRequestHash());
+        replay.result.complete(new StoredResponse(record.getStatusCode(), record.getContentType(),
+                record.getBody() == null ? new byte[0] : record.getBody().getBytes(StandardCharsets.UTF_8)));
+        executions.put(key, replay, record.getExpireTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        // Duplicates that raced onto our placeholder are told to retry and will find the replay.
+        execution.result.complete(null);
+        return replay;
+    }
+
+    public void complete(String key, Execution execution, StoredResponse response) {
+        execution.result.complete(response);
+        if (!persistent) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                    .scopeKey(key)
+                    .requestHash(execution.fingerprint())
+                    .statusCode(response.status())
+                    .contentType(response.contentType())
+                    .body(new String(response.body(), StandardCharsets.UTF_8))
+                    .expireTime(LocalDateTime.ofInstant(Instant.now().plusMillis(ttlMillis), ZoneId.systemDefault()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Idempotency key {} was recorded by another instance", key);
+        } catch (RuntimeException e) {
+            logger.warn("Could not persist idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Frees the key after a failed execution so a retry runs again; waiting duplicates are released.
+     */
+    public void abandon(String key, Execution execution) {
+        executions.invalidate(key, execution);
+        execution.result.complete(null);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (persistent) {
+            idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    public static final class Execution {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        public Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * The stored response, or null if the execution failed or did not finish in time.
+         */
+        public StoredResponse await(long timeoutMillis) {
+            try {
+                return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+    }
+}
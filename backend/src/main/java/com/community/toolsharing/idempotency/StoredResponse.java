@@ -0,0 +1,7 @@
+package com.community.toolsharing.idempotency;
+
+/**
+ * The response of the first execution under an idempotency key, replayed to duplicates.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,40 @@
+package com.community.toolsharing.model;
+
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "analytics_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_bucket", columnNames = {"metric", "granularity", "bucket_start"})
+})
+public class AnalyticsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, columnDefinition = "VARCHAR(40)")
+    private AnalyticsMetric metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, columnDefinition = "VARCHAR(10)")
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+}
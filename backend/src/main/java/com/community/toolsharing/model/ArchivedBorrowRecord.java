@@ -0,0 +1,63 @@
+package com.community.toolsharing.model;
+
+import com.community.toolsharing.enums.BorrowStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "borrow_records_archive", indexes = {
+        @Index(name = "idx_borrow_archive_borrower", columnList = "borrower_id, id"),
+        @Index(name = "idx_borrow_archive_owner", columnList = "owner_id, id")
+})
+public class ArchivedBorrowRecord {
+
+    // Keeps the id the record had in borrow_records so history cursors span both tables.
+    @Id
+    private Long id;
+
+    @Column(name = "tool_id", nullable = false)
+    private Long toolId;
+
+    @Column(name = "borrower_id", nullable = false)
+    private Long borrowerId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "VARCHAR(20)")
+    private BorrowStatus status;
+
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(name = "apply_time")
+    private LocalDateTime applyTime;
+
+    @Column(name = "approve_time")
+    private LocalDateTime approveTime;
+
+    @Column(name = "pickup_time")
+    private LocalDateTime pickupTime;
+
+    @Column(name = "return_time")
+    private LocalDateTime returnTime;
+
+    @Column(name = "remark", length = 500)
+    private String remark;
+
+    @Column(name = "archive_time")
+    private LocalDateTime archiveTime;
+}
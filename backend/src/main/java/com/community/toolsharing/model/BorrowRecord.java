@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "borrow_records")
+@Table(name = "borrow_records", indexes = {
+        @Index(name = "idx_borrow_records_status_due_time", columnList = "status, due_time"),
+        @Index(name = "idx_borrow_records_tool_status", columnList = "tool_id, status")
+})
 public class BorrowRecord {
 
     @Id
@@ -34,6 +37,12 @@ public class BorrowRecord {
     @Column(name = "status")
     private BorrowStatus status;
 
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
     @Column(name = "apply_time")
     private LocalDateTime applyTime;
 
@@ -46,9 +55,16 @@ public class BorrowRecord {
     @Column(name = "return_time")
     private LocalDateTime returnTime;
 
+    @Column(name = "due_time")
+    private LocalDateTime dueTime;
+
     @Column(name = "remark", length = 500)
     private String remark;
 
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @Transient
     private String toolName;
 
@@ -0,0 +1,52 @@
+package com.community.toolsharing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_scope_key", columnNames = "scope_key")
+}, indexes = {
+        @Index(name = "idx_idempotency_expire_time", columnList = "expire_time")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "scope_key", nullable = false, length = 200)
+    private String scopeKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private Integer statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "body", columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    @Column(name = "create_time")
+    private LocalDateTime createTime;
+
+    @Column(name = "expire_time", nullable = false)
+    private LocalDateTime expireTime;
+
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+}
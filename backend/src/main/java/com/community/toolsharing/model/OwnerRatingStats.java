@@ -0,0 +1,50 @@
+package com.community.toolsharing.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "owner_rating_stats")
+public class OwnerRatingStats {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "rating_1", nullable = false)
+    private Long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private Long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private Long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private Long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private Long rating5;
+
+    @Column(name = "avg_rating", nullable = false, precision = 3, scale = 2)
+    private BigDecimal avgRating;
+
+    @Column(name = "update_time")
+    private LocalDateTime updateTime;
+}
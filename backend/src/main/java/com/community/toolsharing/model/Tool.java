@@ -1,12 +1,14 @@
 package com.community.toolsharing.model;
 
 import com.community.toolsharing.enums.ToolStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -14,7 +16,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tools")
+@Table(name = "tools", indexes = {
+        @Index(name = "idx_tools_status_create_time", columnList = "status, create_time, id"),
+        @Index(name = "idx_tools_status_avg_rating", columnList = "status, avg_rating, id"),
+        @Index(name = "idx_tools_update_time", columnList = "update_time")
+})
 public class Tool {
 
     @Id
@@ -46,15 +52,39 @@ public class Tool {
     @Column(name = "location", length = 200)
     private String location;
 
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @Column(name = "create_time")
     private LocalDateTime createTime;
 
     @Column(name = "update_time")
     private LocalDateTime updateTime;
 
+    @JsonIgnore
+    @Column(name = "audit_lease_owner")
+    private Long auditLeaseOwner;
+
+    @JsonIgnore
+    @Column(name = "audit_lease_expire_time")
+    private LocalDateTime auditLeaseExpireTime;
+
+    // Maintained by RatingStatsService with set-based updates only.
+    @Column(name = "avg_rating", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(3,2) NOT NULL DEFAULT 0")
+    private BigDecimal avgRating;
+
+    @Column(name = "review_count", insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long reviewCount;
+
     @Transient
     private String ownerNickname;
 
+    @Transient
+    private ToolRatingStats ratingStats;
+
     @PrePersist
     protected void onCreate() {
         createTime = LocalDateTime.now();
@@ -0,0 +1,164 @@
+package com.community.toolsharing.push;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open server-sent event streams per user. Events are queued per connection and
+ * written by a small sender pool, so a slow client never blocks the thread that
+ * produced the event; a connection whose queue fills up is closed and the client
+ * is expected to reconnect and resynchronise.
+ */
+@Component
+public class NotificationPushRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushRegistry.class);
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+    private final ExecutorService sender;
+
+    public NotificationPushRegistry(@Value("${notification.push.timeout-ms}") long timeoutMillis,
+                                    @Value("${notification.push.queue-capacity}") int queueCapacity,
+                                    @Value("${notification.push.max-connections-per-user}") int maxConnectionsPerUser,
+                                    @Value("${notification.push.sender-threads}") int senderThreads) {
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        Set<Connection> userConnections = connections.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        userConnections.add(connection);
+        // Insertion ordered, so the oldest streams (usually abandoned tabs) are closed first.
+        Iterator<Connection> oldest = userConnections.iterator();
+        while (userConnections.size() > maxConnectionsPerUser && oldest.hasNext()) {
+            disconnect(oldest.next());
+        }
+        return emitter;
+    }
+
+    public boolean isConnected(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    public void push(Long userId, String eventName, Object data) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            enqueue(connection, SseEmitter.event().name(eventName).data(data));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.push.heartbeat-ms}")
+    public void sendHeartbeats() {
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                enqueue(connection, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Connection> userConnections : connections.values()) {
+            userConnections.forEach(this::disconnect);
+        }
+        sender.shutdownNow();
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (!connection.queue.offer(event)) {
+            logger.debug("Closing event stream of user {}: send queue is full", connection.userId);
+            disconnect(connection);
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.queue.poll()) != null) {
+                connection.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            disconnect(connection);
+            return;
+        } finally {
+            connection.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!connection.queue.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        unregister(connection);
+        connection.queue.clear();
+        connection.emitter.complete();
+    }
+
+    private void unregister(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.community.toolsharing.ranking;
+
+import com.community.toolsharing.dto.RankingEntry;
+import com.community.toolsharing.model.User;
+import com.community.toolsharing.repository.LeaderboardView;
+import com.community.toolsharing.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory points leaderboard over all users. Built once at startup and kept current
+ * by PointService and UserService after their transactions commit, so ranking reads
+ * never reach the database. Users with equal points share a rank.
+ */
+@Component
+public class PointLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointLeaderboard.class);
+
+    private final UserRepository userRepository;
+
+    private final RankedSkipList ranking = new RankedSkipList();
+    private final Map<Long, Member> members = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PointLeaderboard(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<LeaderboardView> users = userRepository.findLeaderboardViews();
+        lock.writeLock().lock();
+        try {
+            ranking.clear();
+            members.clear();
+            for (LeaderboardView user : users) {
+                int points = user.getPoints() == null ? 0 : user.getPoints();
+                members.put(user.getId(), new Member(user.getNickname(), user.getAvatar(), points));
+                ranking.insert(points, user.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Point leaderboard built with {} users", users.size());
+    }
+
+    /**
+     * Adds a new user with their current points, or refreshes the display fields of a known one.
+     */
+    public void track(User user) {
+        lock.writeLock().lock();
+        try {
+            Member member = members.get(user.getId());
+            if (member == null) {
+                int points = user.getPoints() == null ? 0 : user.getPoints();
+                members.put(user.getId(), new Member(user.getNickname(), user.getAvatar(), points));
+                ranking.insert(points, user.getId());
+            } else {
+                member.nickname = user.getNickname();
+                member.avatar = user.getAvatar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addPoints(Long userId, int delta) {
+        lock.writeLock().lock();
+        try {
+            Member member = members.get(userId);
+            if (member == null) {
+                logger.warn("Ignoring points for user {} missing from the leaderboard", userId);
+                return;
+            }
+            ranking.remove(member.points, userId);
+            member.points += delta;
+            ranking.insert(member.points, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<RankingEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = ranking.firstIds(limit);
+            List<RankingEntry> entries = new ArrayList<>(ids.size());
+            int rank = 0;
+            Integer previousPoints = null;
+            for (int position = 0; position < ids.size(); position++) {
+                Member member = members.get(ids.get(position));
+                if (previousPoints == null || member.points != previousPoints) {
+                    rank = position + 1;
+                    previousPoints = member.points;
+                }
+                entries.add(toEntry(ids.get(position), member, rank));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the user's standing, or null when the user is unknown.
+     */
+    public RankingEntry rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Member member = members.get(userId);
+            if (member == null) {
+                return null;
+            }
+            return toEntry(userId, member, ranking.countBefore(member.points, Long.MIN_VALUE) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RankingEntry toEntry(Long id, Member member, int rank) {
+        return RankingEntry.builder()
+                .id(id)
+                .nickname(member.nickname)
+                .avatar(member.avatar)
+                .points(member.points)
+                .rank(rank)
+                .build();
+    }
+
+    private static final class Member {
+
+        private String nickname;
+        private String avatar;
+        private int points;
+
+        private Member(String nickname, String avatar, int points) {
+            this.nickname = nickname;
+            this.avatar = avatar;
+            this.points = points;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.community.toolsharing.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Skip list of (score, id) pairs ordered by score descending, then id ascending.
+ * Every forward link records how many nodes it skips, so the position of any key
+ * is found in O(log n) while the first N entries are read in O(N). Not thread-safe.
+ */
+final class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+    private static final int PROMOTION_ODDS = 4;
+
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    void insert(int score, long id) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].precedes(score, id)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(score, id, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(int score, long id) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].precedes(score, id)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || target.score != score || target.id != id) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Number of entries ordered strictly before the given key.
+     */
+    int countBefore(int score, long id) {
+        int count = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].precedes(score, id)) {
+                count += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return count;
+    }
+
+    List<Long> firstIds(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, size));
+        for (Node x = head.next[0]; x != null && ids.size() < limit; x = x.next[0]) {
+            ids.add(x.id);
+        }
+        return ids;
+    }
+
+    void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextInt(PROMOTION_ODDS) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+
+        private final int score;
+        private final long id;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(int score, long id, int nodeLevel) {
+            this.score = score;
+            this.id = id;
+            this.next = new Node[nodeLevel];
+            this.span = new int[nodeLevel];
+        }
+
+        private boolean precedes(int otherScore, long otherId) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+    }
+}
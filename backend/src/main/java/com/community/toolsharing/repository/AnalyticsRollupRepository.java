@@ -0,0 +1,25 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.RollupGranularity;
+import com.community.toolsharing.model.AnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+
+    @Query("SELECT r FROM AnalyticsRollup r WHERE r.metric IN :metrics AND r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<AnalyticsRollup> findSeries(@Param("metrics") List<AnalyticsMetric> metrics,
+                                     @Param("granularity") RollupGranularity granularity,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    boolean existsByGranularity(RollupGranularity granularity);
+}
@@ -0,0 +1,30 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.model.ArchivedBorrowRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedBorrowRecordRepository extends JpaRepository<ArchivedBorrowRecord, Long> {
+
+    List<ArchivedBorrowRecord> findByBorrowerIdAndIdLessThanOrderByIdDesc(Long borrowerId, Long beforeId, Pageable pageable);
+
+    List<ArchivedBorrowRecord> findByOwnerIdAndIdLessThanOrderByIdDesc(Long ownerId, Long beforeId, Pageable pageable);
+
+    @Query("SELECT MAX(a.id) FROM ArchivedBorrowRecord a")
+    Long findMaxId();
+
+    @Modifying
+    @Query(value = "INSERT INTO borrow_records_archive (id, tool_id, borrower_id, owner_id, status, start_time, "
+            + "end_time, apply_time, approve_time, pickup_time, return_time, remark, archive_time) "
+            + "SELECT id, tool_id, borrower_id, owner_id, status, start_time, end_time, apply_time, approve_time, "
+            + "pickup_time, return_time, remark, :now FROM borrow_records WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromBorrowRecords(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+}
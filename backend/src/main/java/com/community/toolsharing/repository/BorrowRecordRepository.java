@@ -2,9 +2,14 @@ package com.community.toolsharing.repository;
 
 import com.community.toolsharing.enums.BorrowStatus;
 import com.community.toolsharing.model.BorrowRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,11 +19,47 @@ public interface BorrowRecordRepository extends JpaRepository<BorrowRecord, Long
 
     List<BorrowRecord> findByOwnerId(Long ownerId);
 
+    List<BorrowRecord> findByBorrowerIdAndIdLessThanOrderByIdDesc(Long borrowerId, Long beforeId, Pageable pageable);
+
+    List<BorrowRecord> findByOwnerIdAndIdLessThanOrderByIdDesc(Long ownerId, Long beforeId, Pageable pageable);
+
+    List<BorrowRecord> findByStatusIn(List<BorrowStatus> statuses);
+
     List<BorrowRecord> findByToolIdAndStatusIn(Long toolId, List<BorrowStatus> statuses);
 
+    List<BorrowRecord> findByToolIdInAndStatusIn(List<Long> toolIds, List<BorrowStatus> statuses);
+
     long countByStatus(BorrowStatus status);
 
     long countByStatusIn(List<BorrowStatus> statuses);
 
     boolean existsByToolIdAndBorrowerIdAndStatusIn(Long toolId, Long borrowerId, List<BorrowStatus> statuses);
+
+    List<BorrowRecord> findByIdInAndOwnerId(List<Long> ids, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BorrowRecord b SET b.status = :next, b.approveTime = :now, b.dueTime = :dueTime, " +
+            "b.version = b.version + 1 WHERE b.id IN :ids AND b.status = :expected")
+    int approveAll(@Param("ids") List<Long> ids,
+                   @Param("expected") BorrowStatus expected,
+                   @Param("next") BorrowStatus next,
+                   @Param("now") LocalDateTime now,
+                   @Param("dueTime") LocalDateTime dueTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BorrowRecord b SET b.status = :next, b.dueTime = NULL, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :expected")
+    int rejectAll(@Param("ids") List<Long> ids,
+                  @Param("expected") BorrowStatus expected,
+                  @Param("next") BorrowStatus next);
+
+    // SKIP LOCKED keeps archivers on several instances from picking the same rows.
+    @Query(value = "SELECT id FROM borrow_records WHERE status IN ('RETURNED', 'REJECTED') " +
+            "AND COALESCE(return_time, apply_time) < :cutoff ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> claimArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM BorrowRecord b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
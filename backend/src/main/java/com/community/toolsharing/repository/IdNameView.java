@@ -0,0 +1,8 @@
+package com.community.toolsharing.repository;
+
+public interface IdNameView {
+
+    Long getId();
+
+    String getName();
+}
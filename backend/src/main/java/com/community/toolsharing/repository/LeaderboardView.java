@@ -0,0 +1,12 @@
+package com.community.toolsharing.repository;
+
+public interface LeaderboardView {
+
+    Long getId();
+
+    String getNickname();
+
+    String getAvatar();
+
+    Integer getPoints();
+}
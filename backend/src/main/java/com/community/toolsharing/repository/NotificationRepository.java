@@ -2,8 +2,12 @@ package com.community.toolsharing.repository;
 
 import com.community.toolsharing.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +17,12 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     long countByUserIdAndIsRead(Long userId, Boolean isRead);
 
-    List<Notification> findByUserIdAndIsRead(Long userId, Boolean isRead);
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.userId = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true "
+            + "WHERE n.userId = :userId AND n.id IN :ids AND n.isRead = false")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,38 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.enums.OutboxStatus;
+import com.community.toolsharing.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets several dispatchers (or instances) drain the table without blocking each other.
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' AND available_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE id = :id AND status = 'PENDING' "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OutboxEvent> claimById(@Param("id") Long id);
+
+    @Query(value = "SELECT id FROM outbox_events WHERE status = 'PENDING' AND available_at <= :now "
+            + "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.status = :status, "
+            + "e.availableAt = :availableAt, e.lastError = :lastError WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("status") OutboxStatus status,
+                      @Param("availableAt") LocalDateTime availableAt,
+                      @Param("lastError") String lastError);
+}
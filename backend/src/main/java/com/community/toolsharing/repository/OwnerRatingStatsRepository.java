@@ -0,0 +1,35 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.model.OwnerRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OwnerRatingStatsRepository extends JpaRepository<OwnerRatingStats, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO owner_rating_stats (owner_id, review_count, rating_sum, rating_1, rating_2, rating_3, "
+            + "rating_4, rating_5, avg_rating, update_time) VALUES (:ownerId, 1, :rating, :rating = 1, :rating = 2, "
+            + ":rating = 3, :rating = 4, :rating = 5, :rating, NOW()) "
+            + "ON DUPLICATE KEY UPDATE review_count = review_count + 1, rating_sum = rating_sum + :rating, "
+            + "rating_1 = rating_1 + (:rating = 1), rating_2 = rating_2 + (:rating = 2), "
+            + "rating_3 = rating_3 + (:rating = 3), rating_4 = rating_4 + (:rating = 4), "
+            + "rating_5 = rating_5 + (:rating = 5), avg_rating = ROUND(rating_sum / review_count, 2), "
+            + "update_time = NOW()", nativeQuery = true)
+    int addRating(@Param("ownerId") Long ownerId, @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "INSERT INTO owner_rating_stats (owner_id, review_count, rating_sum, rating_1, rating_2, rating_3, "
+            + "rating_4, rating_5, avg_rating, update_time) "
+            + "SELECT t.user_id, COUNT(*), SUM(r.rating), SUM(r.rating = 1), SUM(r.rating = 2), SUM(r.rating = 3), "
+            + "SUM(r.rating = 4), SUM(r.rating = 5), ROUND(AVG(r.rating), 2), NOW() "
+            + "FROM reviews r JOIN tools t ON t.id = r.tool_id GROUP BY t.user_id "
+            + "ON DUPLICATE KEY UPDATE review_count = VALUES(review_count), rating_sum = VALUES(rating_sum), "
+            + "rating_1 = VALUES(rating_1), rating_2 = VALUES(rating_2), rating_3 = VALUES(rating_3), "
+            + "rating_4 = VALUES(rating_4), rating_5 = VALUES(rating_5), avg_rating = VALUES(avg_rating), "
+            + "update_time = VALUES(update_time)", nativeQuery = true)
+    int rebuildAll();
+}
@@ -0,0 +1,35 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.model.ToolRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ToolRatingStatsRepository extends JpaRepository<ToolRatingStats, Long> {
+
+    // MySQL applies the assignments left to right, so avg_rating sees the updated sum and count.
+    @Modifying
+    @Query(value = "INSERT INTO tool_rating_stats (tool_id, review_count, rating_sum, rating_1, rating_2, rating_3, "
+            + "rating_4, rating_5, avg_rating, update_time) VALUES (:toolId, 1, :rating, :rating = 1, :rating = 2, "
+            + ":rating = 3, :rating = 4, :rating = 5, :rating, NOW()) "
+            + "ON DUPLICATE KEY UPDATE review_count = review_count + 1, rating_sum = rating_sum + :rating, "
+            + "rating_1 = rating_1 + (:rating = 1), rating_2 = rating_2 + (:rating = 2), "
+            + "rating_3 = rating_3 + (:rating = 3), rating_4 = rating_4 + (:rating = 4), "
+            + "rating_5 = rating_5 + (:rating = 5), avg_rating = ROUND(rating_sum / review_count, 2), "
+            + "update_time = NOW()", nativeQuery = true)
+    int addRating(@Param("toolId") Long toolId, @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "INSERT INTO tool_rating_stats (tool_id, review_count, rating_sum, rating_1, rating_2, rating_3, "
+            + "rating_4, rating_5, avg_rating, update_time) "
+            + "SELECT tool_id, COUNT(*), SUM(rating), SUM(rating = 1), SUM(rating = 2), SUM(rating = 3), "
+            + "SUM(rating = 4), SUM(rating = 5), ROUND(AVG(rating), 2), NOW() FROM reviews GROUP BY tool_id "
+            + "ON DUPLICATE KEY UPDATE review_count = VALUES(review_count), rating_sum = VALUES(rating_sum), "
+            + "rating_1 = VALUES(rating_1), rating_2 = VALUES(rating_2), rating_3 = VALUES(rating_3), "
+            + "rating_4 = VALUES(rating_4), rating_5 = VALUES(rating_5), avg_rating = VALUES(avg_rating), "
+            + "update_time = VALUES(update_time)", nativeQuery = true)
+    int rebuildAll();
+}
@@ -2,21 +2,183 @@ package com.community.toolsharing.repository;
 
 import com.community.toolsharing.enums.ToolStatus;
 import com.community.toolsharing.model.Tool;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ToolRepository extends JpaRepository<Tool, Long> {
+public interface ToolRepository extends JpaRepository<Tool, Long>, JpaSpecificationExecutor<Tool> {
+
+    String CATALOG_FILTER = "t.status = :status " +
+            "AND (:category IS NULL OR t.category = :category) " +
+            "AND (:condition IS NULL OR t.toolCondition = :condition) " +
+            "AND (:location IS NULL OR t.location LIKE CONCAT('%', :location, '%')) ";
+
+    String CATALOG_CURSOR = "AND (t.createTime < :cursorTime OR (t.createTime = :cursorTime AND t.id < :cursorId)) ";
+
+    String CATALOG_ORDER = "ORDER BY t.createTime DESC, t.id DESC";
+
+    String RATING_CURSOR = "AND (t.avgRating < :cursorRating OR (t.avgRating = :cursorRating AND t.id < :cursorId)) ";
+
+    String RATING_ORDER = "ORDER BY t.avgRating DESC, t.id DESC";
 
     List<Tool> findByStatus(ToolStatus status);
 
+    List<Tool> findByStatusAndCategory(ToolStatus status, String category);
+
     List<Tool> findByUserId(Long userId);
 
     List<Tool> findByStatusIn(List<ToolStatus> statuses);
 
-    List<Tool> findByNameContainingAndStatusIn(String name, List<ToolStatus> statuses);
+    List<Tool> findByCategoryAndStatusIn(String category, List<ToolStatus> statuses);
 
     long countByStatus(ToolStatus status);
+
+    List<Tool> findByUpdateTimeGreaterThanEqual(LocalDateTime since);
+
+    @Query("SELECT t.id AS id, t.name AS name FROM Tool t WHERE t.id IN :ids")
+    List<IdNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Tool t WHERE " + CATALOG_FILTER + CATALOG_ORDER)
+    List<Tool> findCatalogFirstPage(@Param("status") ToolStatus status,
+                                    @Param("category") String category,
+                                    @Param("condition") String condition,
+                                    @Param("location") String location,
+                                    Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE " + CATALOG_FILTER + CATALOG_CURSOR + CATALOG_ORDER)
+    List<Tool> findCatalogPageAfter(@Param("status") ToolStatus status,
+                                    @Param("category") String category,
+                                    @Param("condition") String condition,
+                                    @Param("location") String location,
+                                    @Param("cursorTime") LocalDateTime cursorTime,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE t.id IN :ids AND " + CATALOG_FILTER + CATALOG_ORDER)
+    List<Tool> findCatalogFirstPageAmong(@Param("ids") Collection<Long> ids,
+                                         @Param("status") ToolStatus status,
+                                         @Param("category") String category,
+                                         @Param("condition") String condition,
+                                         @Param("location") String location,
+                                         Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE t.id IN :ids AND " + CATALOG_FILTER + CATALOG_CURSOR + CATALOG_ORDER)
+    List<Tool> findCatalogPageAfterAmong(@Param("ids") Collection<Long> ids,
+                                         @Param("status") ToolStatus status,
+                                         @Param("category") String category,
+                                         @Param("condition") String condition,
+                                         @Param("location") String location,
+                                         @Param("cursorTime") LocalDateTime cursorTime,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE " + CATALOG_FILTER + RATING_ORDER)
+    List<Tool> findCatalogByRatingFirstPage(@Param("status") ToolStatus status,
+                                            @Param("category") String category,
+                                            @Param("condition") String condition,
+                                            @Param("location") String location,
+                                            Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE " + CATALOG_FILTER + RATING_CURSOR + RATING_ORDER)
+    List<Tool> findCatalogByRatingPageAfter(@Param("status") ToolStatus status,
+                                            @Param("category") String category,
+                                            @Param("condition") String condition,
+                                            @Param("location") String location,
+                                            @Param("cursorRating") BigDecimal cursorRating,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE t.id IN :ids AND " + CATALOG_FILTER + RATING_ORDER)
+    List<Tool> findCatalogByRatingFirstPageAmong(@Param("ids") Collection<Long> ids,
+                                                 @Param("status") ToolStatus status,
+                                                 @Param("category") String category,
+                                                 @Param("condition") String condition,
+                                                 @Param("location") String location,
+                                                 Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE t.id IN :ids AND " + CATALOG_FILTER + RATING_CURSOR + RATING_ORDER)
+    List<Tool> findCatalogByRatingPageAfterAmong(@Param("ids") Collection<Long> ids,
+                                                 @Param("status") ToolStatus status,
+                                                 @Param("category") String category,
+                                                 @Param("condition") String condition,
+                                                 @Param("location") String location,
+                                                 @Param("cursorRating") BigDecimal cursorRating,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    // update_time is assigned to itself so the ON UPDATE clause does not treat a new review as a tool edit.
+    @Modifying
+    @Query(value = "UPDATE tools t JOIN tool_rating_stats s ON s.tool_id = t.id " +
+            "SET t.avg_rating = s.avg_rating, t.review_count = s.review_count, t.update_time = t.update_time " +
+            "WHERE t.id = :toolId", nativeQuery = true)
+    int syncRating(@Param("toolId") Long toolId);
+
+    @Modifying
+    @Query(value = "UPDATE tools t JOIN tool_rating_stats s ON s.tool_id = t.id " +
+            "SET t.avg_rating = s.avg_rating, t.review_count = s.review_count, t.update_time = t.update_time",
+            nativeQuery = true)
+    int syncAllRatings();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tool t SET t.status = :next, t.version = t.version + 1, t.updateTime = :now " +
+            "WHERE t.id = :id AND t.status = :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") ToolStatus expected,
+                         @Param("next") ToolStatus next,
+                         @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM Tool t WHERE t.status = :status ORDER BY t.createTime ASC, t.id ASC")
+    List<Tool> findQueueFirstPage(@Param("status") ToolStatus status, Pageable pageable);
+
+    @Query("SELECT t FROM Tool t WHERE t.status = :status " +
+            "AND (t.createTime > :cursorTime OR (t.createTime = :cursorTime AND t.id > :cursorId)) " +
+            "ORDER BY t.createTime ASC, t.id ASC")
+    List<Tool> findQueuePageAfter(@Param("status") ToolStatus status,
+                                  @Param("cursorTime") LocalDateTime cursorTime,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    List<Tool> findByIdInOrderByCreateTimeAscIdAsc(Collection<Long> ids);
+
+    // SKIP LOCKED lets concurrent admins claim disjoint batches without waiting on each other.
+    @Query(value = "SELECT id FROM tools WHERE status = 'PENDING_REVIEW' " +
+            "AND (audit_lease_expire_time IS NULL OR audit_lease_expire_time <= :now OR audit_lease_owner = :owner) " +
+            "ORDER BY create_time, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimAuditable(@Param("owner") Long owner, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tool t SET t.auditLeaseOwner = :owner, t.auditLeaseExpireTime = :expireTime WHERE t.id IN :ids")
+    int leaseAll(@Param("ids") List<Long> ids,
+                 @Param("owner") Long owner,
+                 @Param("expireTime") LocalDateTime expireTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tool t SET t.auditLeaseOwner = NULL, t.auditLeaseExpireTime = NULL WHERE t.auditLeaseOwner = :owner")
+    int releaseLeases(@Param("owner") Long owner);
+
+    // Skips tools that left the expected status or were leased to another admin since they were read.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tool t SET t.status = :next, t.version = t.version + 1, t.updateTime = :now, " +
+            "t.auditLeaseOwner = NULL, t.auditLeaseExpireTime = NULL " +
+            "WHERE t.id IN :ids AND t.status = :expected AND (t.auditLeaseOwner IS NULL " +
+            "OR t.auditLeaseOwner = :auditor OR t.auditLeaseExpireTime IS NULL OR t.auditLeaseExpireTime <= :now)")
+    int auditAll(@Param("ids") List<Long> ids,
+                 @Param("expected") ToolStatus expected,
+                 @Param("next") ToolStatus next,
+                 @Param("auditor") Long auditor,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tool t SET t.version = t.version + 1 WHERE t.id = :id AND t.version = :version")
+    int bumpVersion(@Param("id") Long id, @Param("version") Long version);
 }
@@ -0,0 +1,44 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.dto.AdminToolQuery;
+import com.community.toolsharing.model.Tool;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ToolSpecifications {
+
+    private ToolSpecifications() {
+    }
+
+    public static Specification<Tool> matching(AdminToolQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(query.getKeyword())) {
+                String pattern = "%" + query.getKeyword().trim() + "%";
+                predicates.add(cb.or(
+                        cb.like(root.get("name"), pattern),
+                        cb.like(root.get("description"), pattern)));
+            }
+            if (query.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), query.getStatus()));
+            }
+            if (StringUtils.hasText(query.getCategory())) {
+                predicates.add(cb.equal(root.get("category"), query.getCategory()));
+            }
+            if (query.getUserId() != null) {
+                predicates.add(cb.equal(root.get("userId"), query.getUserId()));
+            }
+            if (query.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createTime"), query.getFrom()));
+            }
+            if (query.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("createTime"), query.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -2,17 +2,25 @@ package com.community.toolsharing.repository;
 
 import com.community.toolsharing.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
 
-    List<User> findAllByOrderByPointsDesc();
+    @Query("SELECT u.id AS id, u.nickname AS nickname, u.avatar AS avatar, u.points AS points FROM User u")
+    List<LeaderboardView> findLeaderboardViews();
+
+    @Query("SELECT u.id AS id, u.nickname AS name FROM User u WHERE u.id IN :ids")
+    List<IdNameView> findNicknamesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,42 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.dto.AdminUserQuery;
+import com.community.toolsharing.model.User;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> matching(AdminUserQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (StringUtils.hasText(query.getKeyword())) {
+                String pattern = "%" + query.getKeyword().trim() + "%";
+                predicates.add(cb.or(
+                        cb.like(root.get("username"), pattern),
+                        cb.like(root.get("nickname"), pattern),
+                        cb.like(root.get("phone"), pattern)));
+            }
+            if (query.getRole() != null) {
+                predicates.add(cb.equal(root.get("role"), query.getRole()));
+            }
+            if (query.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), query.getStatus()));
+            }
+            if (query.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createTime"), query.getFrom()));
+            }
+            if (query.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("createTime"), query.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.community.toolsharing.repository;
+
+import com.community.toolsharing.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findAllByOrderByIdAsc();
+
+    List<WaitlistEntry> findByUserIdOrderByIdAsc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.toolId = :toolId AND w.userId = :userId")
+    int deleteByToolIdAndUserId(@Param("toolId") Long toolId, @Param("userId") Long userId);
+}
@@ -0,0 +1,200 @@
+package com.community.toolsharing.reservation;
+
+import com.community.toolsharing.dto.TimeSlot;
+import com.community.toolsharing.enums.BorrowStatus;
+import com.community.toolsharing.model.BorrowRecord;
+import com.community.toolsharing.repository.BorrowRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reserved time slots of approved and picked-up borrows, per tool. Slots of one tool
+ * never overlap, so keyed by start they are also ordered by end, and the only slot
+ * that can overlap [start, end) is the last one starting before end: every overlap
+ * test is a single O(log n) lookup. Borrows made without a time range hold the tool
+ * from approval with no planned end.
+ */
+@Component
+public class ReservationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationIndex.class);
+
+    private static final LocalDateTime OPEN_END = LocalDateTime.MAX;
+    public static final List<BorrowStatus> RESERVING_STATUSES = List.of(BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
+
+    private final BorrowRecordRepository borrowRecordRepository;
+
+    private final Map<Long, NavigableMap<LocalDateTime, Slot>> slotsByTool = new HashMap<>();
+    private final Map<Long, Slot> slotsByRecord = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ReservationIndex(BorrowRecordRepository borrowRecordRepository) {
+        this.borrowRecordRepository = borrowRecordRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BorrowRecord> records = borrowRecordRepository.findByStatusIn(RESERVING_STATUSES);
+        lock.writeLock().lock();
+        try {
+            slotsByTool.clear();
+            slotsByRecord.clear();
+            for (BorrowRecord record : records) {
+                Slot slot = slotOf(record);
+                if (findConflict(slot.toolId(), slot.start(), slot.end()) != null) {
+                    logger.warn("Borrow record {} overlaps another reservation of tool {}", slot.recordId(), slot.toolId());
+                    continue;
+                }
+                insert(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Reservation index built with {} reservations", slotsByRecord.size());
+    }
+
+    /**
+     * Replaces the slots of the given tools with their reservations as the caller's transaction
+     * sees them, including those approved on other instances. Callers have just moved the tools'
+     * versions, so no approval of these tools committed outside their snapshot.
+     */
+    public void refresh(List<Long> toolIds) {
+        List<BorrowRecord> records = borrowRecordRepository.findByToolIdInAndStatusIn(toolIds, RESERVING_STATUSES);
+        lock.writeLock().lock();
+        try {
+            for (Long toolId : toolIds) {
+                NavigableMap<LocalDateTime, Slot> stale = slotsByTool.remove(toolId);
+                if (stale != null) {
+                    stale.values().forEach(slot -> slotsByRecord.remove(slot.recordId()));
+                }
+            }
+            for (BorrowRecord record : records) {
+                Slot slot = slotOf(record);
+                if (findConflict(slot.toolId(), slot.start(), slot.end()) != null) {
+                    logger.warn("Borrow record {} overlaps another reservation of tool {}", slot.recordId(), slot.toolId());
+                    continue;
+                }
+                insert(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reserves the record's slot unless it overlaps an existing reservation of the same tool.
+     */
+    public boolean tryReserve(BorrowRecord record) {
+        Slot slot = slotOf(record);
+        lock.writeLock().lock();
+        try {
+            if (findConflict(slot.toolId(), slot.start(), slot.end()) != null) {
+                return false;
+            }
+            insert(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(Long recordId) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = slotsByRecord.remove(recordId);
+            if (slot == null) {
+                return;
+            }
+            NavigableMap<LocalDateTime, Slot> slots = slotsByTool.get(slot.toolId());
+            slots.remove(slot.start(), slot);
+            if (slots.isEmpty()) {
+                slotsByTool.remove(slot.toolId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the reservation overlapping [start, end), or null when the tool is free.
+     * A null end means open-ended.
+     */
+    public TimeSlot conflictWith(Long toolId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            Slot conflict = findConflict(toolId, start, end == null ? OPEN_END : end);
+            return conflict == null ? null : toTimeSlot(conflict);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFree(Long toolId, LocalDateTime start, LocalDateTime end) {
+        return conflictWith(toolId, start, end) == null;
+    }
+
+    /**
+     * Reservations of the tool overlapping [from, to), earliest first.
+     */
+    public List<TimeSlot> reservations(Long toolId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> slots = slotsByTool.get(toolId);
+            List<TimeSlot> result = new ArrayList<>();
+            if (slots == null) {
+                return result;
+            }
+            Map.Entry<LocalDateTime, Slot> first = slots.floorEntry(from);
+            LocalDateTime fromKey = first != null && first.getValue().end().isAfter(from) ? first.getKey() : from;
+            for (Slot slot : slots.subMap(fromKey, true, to == null ? OPEN_END : to, false).values()) {
+                result.add(toTimeSlot(slot));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Slot findConflict(Long toolId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Slot> slots = slotsByTool.get(toolId);
+        if (slots == null) {
+            return null;
+        }
+        Map.Entry<LocalDateTime, Slot> candidate = slots.lowerEntry(end);
+        return candidate != null && candidate.getValue().end().isAfter(start) ? candidate.getValue() : null;
+    }
+
+    private void insert(Slot slot) {
+        slotsByTool.computeIfAbsent(slot.toolId(), id -> new TreeMap<>()).put(slot.start(), slot);
+        slotsByRecord.put(slot.recordId(), slot);
+    }
+
+    private static Slot slotOf(BorrowRecord record) {
+        LocalDateTime start = record.getStartTime();
+        if (start == null) {
+            start = record.getApproveTime() != null ? record.getApproveTime() : record.getApplyTime();
+        }
+        LocalDateTime end = record.getEndTime() != null ? record.getEndTime() : OPEN_END;
+        return new Slot(record.getId(), record.getToolId(), start, end);
+    }
+
+    private static TimeSlot toTimeSlot(Slot slot) {
+        return new TimeSlot(slot.start(), slot.end().equals(OPEN_END) ? null : slot.end());
+    }
+
+    private record Slot(Long recordId, Long toolId, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.community.toolsharing.search;
+
+import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.repository.ToolRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the name, category and description of AVAILABLE
+ * tools, ranked with BM25. Built once at startup and kept current by
+ * ToolSearchIndexer from the tool events published after each change. A periodic
+ * reconcile re-reads the tools updated since the previous pass, so a tool event lost
+ * under load is repaired within one interval; a much rarer full rebuild also drops
+ * tools whose deletion event was lost.
+ */
+@Component
+public class ToolSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Re-read slightly before the previous pass so transactions that committed late are not missed.
+    private static final Duration RECONCILE_OVERLAP = Duration.ofMinutes(1);
+
+    private final ToolRepository toolRepository;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedTool> documents = new HashMap<>();
+    private long totalLength;
+    private volatile LocalDateTime reconciledAt;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ToolSearchIndex(ToolRepository toolRepository) {
+        this.toolRepository = toolRepository;
+    }
+
+    // Deletions leave no row to find by update time; the occasional full rebuild drops those ids.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${search.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        reconciledAt = LocalDateTime.now();
+        List<Tool> tools = toolRepository.findByStatus(ToolStatus.AVAILABLE);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (Tool tool : tools) {
+                addDocument(tool);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Tool search index built with {} documents", tools.size());
+    }
+
+    @Scheduled(initialDelayString = "${search.reconcile-interval-ms:60000}",
+            fixedDelayString = "${search.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        LocalDateTime since = reconciledAt;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        List<Tool> changed = toolRepository.findByUpdateTimeGreaterThanEqual(since.minus(RECONCILE_OVERLAP));
+        lock.writeLock().lock();
+        try {
+            for (Tool tool : changed) {
+                removeDocument(tool.getId());
+                if (tool.getStatus() == ToolStatus.AVAILABLE) {
+                    addDocument(tool);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reconciledAt = started;
+        logger.debug("Tool search index reconciled: {} changed", changed.size());
+    }
+
+    /**
+     * Adds, replaces or drops the tool depending on whether it is currently searchable.
+     */
+    public void update(Tool tool) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(tool.getId());
+            if (tool.getStatus() == ToolStatus.AVAILABLE) {
+                addDocument(tool);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long toolId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(toolId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of every matching tool, most relevant first.
+     */
+    public List<Long> searchAll(String query, String category) {
+        return search(query, category, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the ids of the best matching tools, most relevant first.
+     */
+    public List<Long> search(String query, String category, int limit) {
+        List<String> terms = Tokenizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return new ArrayList<>();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            for (String term : terms.stream().distinct().toList()) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    IndexedTool document = documents.get(posting.getKey());
+                    if (category != null && !category.equals(document.category())) {
+                        continue;
+                    }
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private void addDocument(Tool tool) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addField(termFrequencies, tool.getName(), NAME_WEIGHT);
+        addField(termFrequencies, tool.getCategory(), CATEGORY_WEIGHT);
+        addField(termFrequencies, tool.getDescription(), DESCRIPTION_WEIGHT);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(tool.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(tool.getId(), new IndexedTool(List.copyOf(termFrequencies.keySet()), length, tool.getCategory()));
+        totalLength += length;
+    }
+
+    private void removeDocument(Long toolId) {
+        IndexedTool document = documents.remove(toolId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(toolId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private static void addField(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private record IndexedTool(List<String> terms, int length, String category) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.community.toolsharing.search;
+
+import com.community.toolsharing.event.DomainEventListener;
+import com.community.toolsharing.event.ToolEvent;
+import com.community.toolsharing.repository.ToolRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link ToolSearchIndex} in step with the tools table. Each event re-reads the
+ * tool, and events reach this listener one at a time in order, so the last event for
+ * a tool always leaves the index with its latest committed state.
+ */
+@Component
+public class ToolSearchIndexer implements DomainEventListener<ToolEvent> {
+
+    private final ToolRepository toolRepository;
+    private final ToolSearchIndex toolSearchIndex;
+
+    public ToolSearchIndexer(ToolRepository toolRepository, ToolSearchIndex toolSearchIndex) {
+        this.toolRepository = toolRepository;
+        this.toolSearchIndex = toolSearchIndex;
+    }
+
+    @Override
+    public Class<ToolEvent> eventType() {
+        return ToolEvent.class;
+    }
+
+    @Override
+    public void onEvent(ToolEvent event) {
+        toolRepository.findById(event.toolId())
+                .ifPresentOrElse(toolSearchIndex::update, () -> toolSearchIndex.remove(event.toolId()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.community.toolsharing.security;
+
+import com.community.toolsharing.cache.BoundedTtlCache;
+import com.community.toolsharing.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticated principals by username, so the JWT filter does not query the users
+ * table on every request. Entries live for a short TTL and are evicted explicitly
+ * when an account's status or role changes.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, UserPrincipal> principals;
+    private final long ttlMillis;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.principals = new BoundedTtlCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public UserPrincipal get(String username) {
+        return principals.getOrLoad(username, key -> userRepository.findByUsername(key)
+                .map(UserPrincipal::withoutCredentials)
+                .orElse(null), ttlMillis);
+    }
+
+    public void evict(String username) {
+        principals.invalidate(username);
+    }
+}
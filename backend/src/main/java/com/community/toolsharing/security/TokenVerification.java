@@ -0,0 +1,42 @@
+package com.community.toolsharing.security;
+
+import lombok.Getter;
+
+import java.util.Date;
+
+@Getter
+public class TokenVerification {
+
+    public enum Outcome {
+        VALID,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY
+    }
+
+    private final Outcome outcome;
+    private final String username;
+    private final Long userId;
+    private final Date expiration;
+
+    private TokenVerification(Outcome outcome, String username, Long userId, Date expiration) {
+        this.outcome = outcome;
+        this.username = username;
+        this.userId = userId;
+        this.expiration = expiration;
+    }
+
+    public static TokenVerification valid(String username, Long userId, Date expiration) {
+        return new TokenVerification(Outcome.VALID, username, userId, expiration);
+    }
+
+    public static TokenVerification failure(Outcome outcome) {
+        return new TokenVerification(outcome, null, null, null);
+    }
+
+    public boolean isValid() {
+        return outcome == Outcome.VALID;
+    }
+}
@@ -0,0 +1,159 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.AdminToolQuery;
+import com.community.toolsharing.dto.AdminUserQuery;
+import com.community.toolsharing.enums.ExportFormat;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.model.User;
+import com.community.toolsharing.repository.ToolSpecifications;
+import com.community.toolsharing.repository.UserSpecifications;
+import com.community.toolsharing.util.PageRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes admin lists as CSV or NDJSON straight from a forward-only result stream.
+ * Rows are handled in chunks of the fetch size: each chunk is enriched, written and
+ * then cleared from the persistence context, so memory stays flat however many rows
+ * match.
+ */
+@Service
+public class AdminExportService {
+
+    private static final String[] USER_COLUMNS =
+            {"id", "username", "nickname", "phone", "role", "points", "status", "createTime"};
+    private static final String[] TOOL_COLUMNS =
+            {"id", "name", "category", "status", "toolCondition", "location", "userId", "ownerNickname", "createTime"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchEnricher batchEnricher;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AdminExportService(EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              BatchEnricher batchEnricher,
+                              ObjectMapper objectMapper,
+                              @Value("${admin.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.batchEnricher = batchEnricher;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void exportUsers(AdminUserQuery query, ExportFormat format, OutputStream out) {
+        export(User.class, UserSpecifications.matching(query),
+                PageRequests.sort(query.getSort(), UserService.SORTABLE_PROPERTIES),
+                format, out, USER_COLUMNS,
+                user -> new Object[]{user.getId(), user.getUsername(), user.getNickname(), user.getPhone(),
+                        user.getRole(), user.getPoints(), user.getStatus(), user.getCreateTime()},
+                users -> {
+                });
+    }
+
+    public void exportTools(AdminToolQuery query, ExportFormat format, OutputStream out) {
+        export(Tool.class, ToolSpecifications.matching(query),
+                PageRequests.sort(query.getSort(), ToolService.SORTABLE_PROPERTIES),
+                format, out, TOOL_COLUMNS,
+                tool -> new Object[]{tool.getId(), tool.getName(), tool.getCategory(), tool.getStatus(),
+                        tool.getToolCondition(), tool.getLocation(), tool.getUserId(), tool.getOwnerNickname(),
+                        tool.getCreateTime()},
+                batchEnricher::enrichTools);
+    }
+
+    private <T> void export(Class<T> type, Specification<T> specification, Sort sort, ExportFormat format,
+                            OutputStream out, String[] columns, Function<T, Object[]> row, Consumer<List<T>> enricher) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        transactionTemplate.executeWithoutResult(status -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> criteriaQuery = cb.createQuery(type);
+            Root<T> root = criteriaQuery.from(type);
+            Predicate predicate = specification.toPredicate(root, criteriaQuery, cb);
+            if (predicate != null) {
+                criteriaQuery.where(predicate);
+            }
+            criteriaQuery.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+            try (Stream<T> stream = entityManager.createQuery(criteriaQuery)
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(AvailableHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, columns);
+                }
+                List<T> chunk = new ArrayList<>(fetchSize);
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == fetchSize || !iterator.hasNext()) {
+                        enricher.accept(chunk);
+                        for (T item : chunk) {
+                            if (format == ExportFormat.CSV) {
+                                writeCsvLine(writer, row.apply(item));
+                            } else {
+                                writer.write(objectMapper.writeValueAsString(item));
+                                writer.write('\n');
+                            }
+                        }
+                        writer.flush();
+                        chunk.clear();
+                        entityManager.clear();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
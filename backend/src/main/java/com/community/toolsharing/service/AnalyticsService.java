@@ -0,0 +1,217 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.AnalyticsPoint;
+import com.community.toolsharing.dto.AnalyticsSeries;
+import com.community.toolsharing.enums.AnalyticsMetric;
+import com.community.toolsharing.enums.RollupGranularity;
+import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.model.AnalyticsRollup;
+import com.community.toolsharing.repository.AnalyticsRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves admin time series from the analytics_rollups table and rebuilds that table
+ * from the source tables. Requests only ever read pre-aggregated buckets; raw rows are
+ * scanned by the backfill, once per source column with the grouping done in MySQL.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final int MAX_POINTS = 5000;
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Map<AnalyticsMetric, List<String[]>> SOURCES = new EnumMap<>(AnalyticsMetric.class);
+
+    static {
+        SOURCES.put(AnalyticsMetric.REGISTRATIONS, List.<String[]>of(new String[]{"users", "create_time"}));
+        SOURCES.put(AnalyticsMetric.TOOLS_PUBLISHED, List.<String[]>of(new String[]{"tools", "create_time"}));
+        SOURCES.put(AnalyticsMetric.BORROW_APPLICATIONS, List.of(
+                new String[]{"borrow_records", "apply_time"},
+                new String[]{"borrow_records_archive", "apply_time"}));
+        SOURCES.put(AnalyticsMetric.BORROWS_APPROVED, List.of(
+                new String[]{"borrow_records", "approve_time"},
+                new String[]{"borrow_records_archive", "approve_time"}));
+        SOURCES.put(AnalyticsMetric.BORROWS_RETURNED, List.of(
+                new String[]{"borrow_records", "return_time"},
+                new String[]{"borrow_records_archive", "return_time"}));
+        SOURCES.put(AnalyticsMetric.REVIEWS_CREATED, List.<String[]>of(new String[]{"reviews", "create_time"}));
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO analytics_rollups (metric, granularity, bucket_start, total) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM analytics_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String ROLL_UP_DAYS_SQL =
+            "INSERT INTO analytics_rollups (metric, granularity, bucket_start, total) "
+                    + "SELECT metric, 'DAY', DATE(bucket_start), SUM(total) FROM analytics_rollups "
+                    + "WHERE granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ? "
+                    + "GROUP BY metric, DATE(bucket_start)";
+
+    private static final String MERGE_DAY_SQL =
+            "INSERT INTO analytics_rollups (metric, granularity, bucket_start, total) "
+                    + "SELECT metric, 'DAY', ?, SUM(total) FROM analytics_rollups "
+                    + "WHERE granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ? "
+                    + "GROUP BY metric ON DUPLICATE KEY UPDATE total = VALUES(total)";
+
+    private final AnalyticsRollupRepository analyticsRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillDays;
+
+    public AnalyticsService(AnalyticsRollupRepository analyticsRollupRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${analytics.backfill-days:365}") int backfillDays) {
+        this.analyticsRollupRepository = analyticsRollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillDays = backfillDays;
+    }
+
+    public List<AnalyticsSeries> getSeries(List<AnalyticsMetric> metrics, RollupGranularity granularity,
+                                           LocalDateTime from, LocalDateTime to) {
+        if (metrics == null || metrics.isEmpty()) {
+            metrics = List.of(AnalyticsMetric.values());
+        }
+        if (granularity == null) {
+            granularity = RollupGranularity.DAY;
+        }
+        LocalDateTime end = granularity.ceil(to != null ? to : LocalDateTime.now());
+        LocalDateTime start = granularity.truncate(from != null ? from
+                : granularity == RollupGranularity.HOUR ? end.minusHours(48) : end.minusDays(30));
+        if (!start.isBefore(end)) {
+            throw new BusinessException("The start time must be before the end time");
+        }
+        ChronoUnit unit = granularity == RollupGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        if (unit.between(start, end) > MAX_POINTS) {
+            throw new BusinessException("The range is too long, at most " + MAX_POINTS + " points per series");
+        }
+
+        Map<AnalyticsMetric, Map<LocalDateTime, Long>> totals = new EnumMap<>(AnalyticsMetric.class);
+        for (AnalyticsRollup rollup : analyticsRollupRepository.findSeries(metrics, granularity, start, end)) {
+            totals.computeIfAbsent(rollup.getMetric(), m -> new HashMap<>())
+                    .put(rollup.getBucketStart(), rollup.getTotal());
+        }
+
+        List<AnalyticsSeries> result = new ArrayList<>(metrics.size());
+        for (AnalyticsMetric metric : metrics) {
+            Map<LocalDateTime, Long> buckets = totals.getOrDefault(metric, Map.of());
+            List<AnalyticsPoint> points = new ArrayList<>();
+            long sum = 0;
+            for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+                long value = buckets.getOrDefault(bucket, 0L);
+                points.add(new AnalyticsPoint(bucket, value));
+                sum += value;
+            }
+            result.add(AnalyticsSeries.builder()
+                    .metric(metric)
+                    .granularity(granularity)
+                    .total(sum)
+                    .points(points)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes the hourly rollups for whole days from {@code from} up to the current
+     * hour at most, then re-derives the daily rollups of those days from the hourly ones.
+     * The hour in progress is left to the live recorder; a day that is not complete keeps
+     * its daily row, which is set to the sum of its hours including the hour in progress.
+     * Returns the number of hourly buckets written.
+     */
+    public int backfill(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = RollupGranularity.DAY.truncate(from);
+        LocalDateTime currentHour = RollupGranularity.HOUR.truncate(LocalDateTime.now());
+        LocalDateTime end = to == null || to.isAfter(currentHour) ? currentHour : RollupGranularity.HOUR.truncate(to);
+        if (!start.isBefore(end)) {
+            throw new BusinessException("The start time must be before the end time");
+        }
+        LocalDateTime completedEnd = RollupGranularity.DAY.truncate(end);
+
+        List<Object[]> rows = new ArrayList<>();
+        SOURCES.forEach((metric, sources) -> {
+            Map<LocalDateTime, Long> buckets = new HashMap<>();
+            for (String[] source : sources) {
+                String sql = "SELECT DATE_FORMAT(" + source[1] + ", '%Y-%m-%d %H:00:00') AS bucket, COUNT(*) AS total "
+                        + "FROM " + source[0] + " WHERE " + source[1] + " >= ? AND " + source[1] + " < ? "
+                        + "GROUP BY bucket";
+                jdbcTemplate.query(sql, rs -> {
+                    buckets.merge(LocalDateTime.parse(rs.getString("bucket"), BUCKET_FORMAT),
+                            rs.getLong("total"), Long::sum);
+                }, Timestamp.valueOf(start), Timestamp.valueOf(end));
+            }
+            buckets.forEach((bucket, total) -> rows.add(new Object[]{metric.name(), bucket, total}));
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_SQL, RollupGranularity.HOUR.name(), Timestamp.valueOf(start), Timestamp.valueOf(end));
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+                ps.setString(1, (String) row[0]);
+                ps.setString(2, RollupGranularity.HOUR.name());
+                ps.setTimestamp(3, Timestamp.valueOf((LocalDateTime) row[1]));
+                ps.setLong(4, (Long) row[2]);
+            });
+            if (start.isBefore(completedEnd)) {
+                jdbcTemplate.update(DELETE_SQL, RollupGranularity.DAY.name(),
+                        Timestamp.valueOf(start), Timestamp.valueOf(completedEnd));
+                jdbcTemplate.update(ROLL_UP_DAYS_SQL, Timestamp.valueOf(start), Timestamp.valueOf(completedEnd));
+            }
+            // The partial day's row is overwritten in place rather than deleted and rebuilt, so it always
+            // carries the counts the live recorder has flushed for the hour in progress.
+            if (completedEnd.isBefore(end)) {
+                LocalDateTime nextDay = RollupGranularity.DAY.next(completedEnd);
+                jdbcTemplate.update(MERGE_DAY_SQL, Timestamp.valueOf(completedEnd),
+                        Timestamp.valueOf(completedEnd), Timestamp.valueOf(nextDay));
+            }
+        });
+        logger.info("Analytics rollups rebuilt for [{}, {}): {} hourly buckets", start, end, rows.size());
+        return rows.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (analyticsRollupRepository.existsByGranularity(RollupGranularity.HOUR)) {
+            return;
+        }
+        try {
+            backfill(LocalDateTime.now().minusDays(backfillDays), null);
+        } catch (RuntimeException e) {
+            logger.warn("Initial analytics backfill failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${analytics.repair-cron:0 15 0 * * *}")
+    public void repairYesterday() {
+        LocalDateTime today = RollupGranularity.DAY.truncate(LocalDateTime.now());
+        try {
+            backfill(today.minusDays(1), today);
+        } catch (RuntimeException e) {
+            logger.warn("Analytics repair failed: {}", e.getMessage());
+        }
+    }
+}
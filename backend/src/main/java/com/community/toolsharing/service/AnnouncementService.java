@@ -3,9 +3,7 @@ package com.community.toolsharing.service;
 import com.community.toolsharing.dto.AnnouncementRequest;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.Announcement;
-import com.community.toolsharing.model.User;
 import com.community.toolsharing.repository.AnnouncementRepository;
-import com.community.toolsharing.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,18 +12,14 @@ import java.util.List;
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
-    private final UserRepository userRepository;
 
-    public AnnouncementService(AnnouncementRepository announcementRepository, UserRepository userRepository) {
+    public AnnouncementService(AnnouncementRepository announcementRepository) {
         this.announcementRepository = announcementRepository;
-        this.userRepository = userRepository;
     }
 
-    public Announcement create(String adminUsername, AnnouncementRequest request) {
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", adminUsername));
+    public Announcement create(Long adminId, AnnouncementRequest request) {
         Announcement announcement = Announcement.builder()
-                .adminId(admin.getId())
+                .adminId(adminId)
                 .title(request.getTitle())
                 .content(request.getContent())
                 .status(1)
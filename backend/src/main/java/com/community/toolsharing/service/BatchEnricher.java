@@ -0,0 +1,89 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.model.BorrowRecord;
+import com.community.toolsharing.model.Review;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.repository.IdNameView;
+import com.community.toolsharing.repository.ToolRepository;
+import com.community.toolsharing.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fills the @Transient display fields of list results. Ids are collected across the
+ * whole result set and resolved with one projection query per entity type, so a list
+ * costs the same number of queries regardless of how many rows it has.
+ */
+@Component
+public class BatchEnricher {
+
+    private final UserRepository userRepository;
+    private final ToolRepository toolRepository;
+
+    public BatchEnricher(UserRepository userRepository, ToolRepository toolRepository) {
+        this.userRepository = userRepository;
+        this.toolRepository = toolRepository;
+    }
+
+    public void enrichBorrowRecords(Collection<BorrowRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> toolIds = new HashSet<>();
+        for (BorrowRecord record : records) {
+            userIds.add(record.getBorrowerId());
+            userIds.add(record.getOwnerId());
+            toolIds.add(record.getToolId());
+        }
+        Map<Long, String> nicknames = toMap(userRepository.findNicknamesByIdIn(userIds));
+        Map<Long, String> toolNames = toMap(toolRepository.findNamesByIdIn(toolIds));
+        for (BorrowRecord record : records) {
+            record.setToolName(toolNames.get(record.getToolId()));
+            record.setBorrowerNickname(nicknames.get(record.getBorrowerId()));
+            record.setOwnerNickname(nicknames.get(record.getOwnerId()));
+        }
+    }
+
+    public void enrichTools(Collection<Tool> tools) {
+        if (tools.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (Tool tool : tools) {
+            userIds.add(tool.getUserId());
+        }
+        Map<Long, String> nicknames = toMap(userRepository.findNicknamesByIdIn(userIds));
+        for (Tool tool : tools) {
+            tool.setOwnerNickname(nicknames.get(tool.getUserId()));
+        }
+    }
+
+    public void enrichReviews(Collection<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (Review review : reviews) {
+            userIds.add(review.getReviewerId());
+        }
+        Map<Long, String> nicknames = toMap(userRepository.findNicknamesByIdIn(userIds));
+        for (Review review : reviews) {
+            review.setReviewerNickname(nicknames.get(review.getReviewerId()));
+        }
+    }
+
+    private static Map<Long, String> toMap(List<IdNameView> views) {
+        Map<Long, String> names = new HashMap<>(views.size() * 2);
+        for (IdNameView view : views) {
+            names.put(view.getId(), view.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,168 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.CursorPage;
+import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.model.ArchivedBorrowRecord;
+import com.community.toolsharing.model.BorrowRecord;
+import com.community.toolsharing.repository.ArchivedBorrowRecordRepository;
+import com.community.toolsharing.repository.BorrowRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Moves finished borrow records (RETURNED or REJECTED) older than the configured
+ * age into borrow_records_archive, keeping borrow_records down to the working set.
+ * Records keep their ids, so the history API pages both tables with one id cursor
+ * and only reads the archive once a page reaches below the newest archived id.
+ */
+@Service
+public class BorrowArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BorrowArchiveService.class);
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final ArchivedBorrowRecordRepository archivedBorrowRecordRepository;
+    private final BatchEnricher batchEnricher;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterDays;
+    private final int batchSize;
+
+    public BorrowArchiveService(BorrowRecordRepository borrowRecordRepository,
+                                ArchivedBorrowRecordRepository archivedBorrowRecordRepository,
+                                BatchEnricher batchEnricher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${borrow.archive.after-days:180}") int afterDays,
+                                @Value("${borrow.archive.batch-size:500}") int batchSize) {
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.archivedBorrowRecordRepository = archivedBorrowRecordRepository;
+        this.batchEnricher = batchEnricher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${borrow.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+        int moved;
+        // One short transaction per batch keeps row locks and undo small on a large backlog.
+        do {
+            try {
+                Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                moved = count == null ? 0 : count;
+            } catch (RuntimeException e) {
+                logger.warn("Borrow record archival stopped after {} records: {}", total, e.getMessage());
+                return;
+            }
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            logger.info("Archived {} borrow records finished before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = borrowRecordRepository.claimArchivable(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedBorrowRecordRepository.copyFromBorrowRecords(ids, LocalDateTime.now());
+        borrowRecordRepository.deleteByIds(ids);
+        return ids.size();
+    }
+
+    /**
+     * Newest first. Both reads share one snapshot, so a record archived between them
+     * is seen exactly once.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BorrowRecord> getHistory(Long userId, String role, String cursor, Integer size) {
+        boolean asOwner = parseRole(role);
+        int limit = size == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        long beforeId = StringUtils.hasText(cursor) ? parseCursor(cursor) : Long.MAX_VALUE;
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        List<BorrowRecord> records = new ArrayList<>(asOwner
+                ? borrowRecordRepository.findByOwnerIdAndIdLessThanOrderByIdDesc(userId, beforeId, window)
+                : borrowRecordRepository.findByBorrowerIdAndIdLessThanOrderByIdDesc(userId, beforeId, window));
+
+        // Every archived id is at most the archive's max id, so a full hot window above it needs no archive read.
+        Long maxArchivedId = archivedBorrowRecordRepository.findMaxId();
+        if (maxArchivedId != null && (records.size() <= limit || records.get(limit).getId() < maxArchivedId)) {
+            List<ArchivedBorrowRecord> archived = asOwner
+                    ? archivedBorrowRecordRepository.findByOwnerIdAndIdLessThanOrderByIdDesc(userId, beforeId, window)
+                    : archivedBorrowRecordRepository.findByBorrowerIdAndIdLessThanOrderByIdDesc(userId, beforeId, window);
+            for (ArchivedBorrowRecord record : archived) {
+                records.add(toBorrowRecord(record));
+            }
+            records.sort(Comparator.comparing(BorrowRecord::getId).reversed());
+        }
+
+        String nextCursor = null;
+        if (records.size() > limit) {
+            records = new ArrayList<>(records.subList(0, limit));
+            nextCursor = String.valueOf(records.get(limit - 1).getId());
+        }
+
+        batchEnricher.enrichBorrowRecords(records);
+
+        return CursorPage.of(records, nextCursor);
+    }
+
+    public long getArchivedCount() {
+        return archivedBorrowRecordRepository.count();
+    }
+
+    private static boolean parseRole(String role) {
+        if (!StringUtils.hasText(role) || "borrower".equalsIgnoreCase(role)) {
+            return false;
+        }
+        if ("owner".equalsIgnoreCase(role)) {
+            return true;
+        }
+        throw new BusinessException("Invalid role: " + role);
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    private static BorrowRecord toBorrowRecord(ArchivedBorrowRecord archived) {
+        return BorrowRecord.builder()
+                .id(archived.getId())
+                .toolId(archived.getToolId())
+                .borrowerId(archived.getBorrowerId())
+                .ownerId(archived.getOwnerId())
+                .status(archived.getStatus())
+                .startTime(archived.getStartTime())
+                .endTime(archived.getEndTime())
+                .applyTime(archived.getApplyTime())
+                .approveTime(archived.getApproveTime())
+                .pickupTime(archived.getPickupTime())
+                .returnTime(archived.getReturnTime())
+                .remark(archived.getRemark())
+                .build();
+    }
+}
@@ -1,10 +1,21 @@
 package com.community.toolsharing.service;
 
+import com.community.toolsharing.dto.BatchDecisionRequest;
+import com.community.toolsharing.dto.BatchDecisionResult;
 import com.community.toolsharing.dto.BorrowRequest;
+import com.community.toolsharing.dto.NotificationMessage;
+import com.community.toolsharing.dto.TimeSlot;
 import com.community.toolsharing.enums.BorrowStatus;
 import com.community.toolsharing.enums.PointType;
 import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.event.BorrowApplied;
+import com.community.toolsharing.event.BorrowApproved;
+import com.community.toolsharing.event.BorrowPickedUp;
+import com.community.toolsharing.event.BorrowRejected;
+import com.community.toolsharing.event.BorrowReturned;
+import com.community.toolsharing.event.DomainEventBus;
 import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.exception.ConflictException;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.BorrowRecord;
 import com.community.toolsharing.model.Tool;
@@ -12,12 +23,25 @@ import com.community.toolsharing.model.User;
 import com.community.toolsharing.repository.BorrowRecordRepository;
 import com.community.toolsharing.repository.ToolRepository;
 import com.community.toolsharing.repository.UserRepository;
+import com.community.toolsharing.repository.WaitlistEntryRepository;
+import com.community.toolsharing.reservation.ReservationIndex;
+import com.community.toolsharing.timer.BorrowDeadlineScheduler;
+import com.community.toolsharing.util.TransactionHooks;
+import com.community.toolsharing.waitlist.ToolWaitlist;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BorrowService {
@@ -25,32 +49,60 @@ public class BorrowService {
     private final BorrowRecordRepository borrowRecordRepository;
     private final ToolRepository toolRepository;
     private final UserRepository userRepository;
-    private final PointService pointService;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final DomainEventBus domainEventBus;
+    private final ReservationIndex reservationIndex;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ToolWaitlist toolWaitlist;
+    private final BatchEnricher batchEnricher;
+    private final BorrowDeadlineScheduler deadlineScheduler;
 
     public BorrowService(BorrowRecordRepository borrowRecordRepository,
                          ToolRepository toolRepository,
                          UserRepository userRepository,
-                         PointService pointService,
-                         NotificationService notificationService) {
+                         OutboxService outboxService,
+                         DomainEventBus domainEventBus,
+                         ReservationIndex reservationIndex,
+                         WaitlistEntryRepository waitlistEntryRepository,
+                         ToolWaitlist toolWaitlist,
+                         BatchEnricher batchEnricher,
+                         BorrowDeadlineScheduler deadlineScheduler) {
         this.borrowRecordRepository = borrowRecordRepository;
         this.toolRepository = toolRepository;
         this.userRepository = userRepository;
-        this.pointService = pointService;
-        this.notificationService = notificationService;
+        this.outboxService = outboxService;
+        this.domainEventBus = domainEventBus;
+        this.reservationIndex = reservationIndex;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.toolWaitlist = toolWaitlist;
+        this.batchEnricher = batchEnricher;
+        this.deadlineScheduler = deadlineScheduler;
     }
 
     @Transactional
-    public BorrowRecord applyBorrow(String username, BorrowRequest request) {
-        User borrower = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public BorrowRecord applyBorrow(Long userId, BorrowRequest request) {
+        User borrower = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         Tool tool = toolRepository.findById(request.getToolId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", request.getToolId()));
 
-        if (tool.getStatus() != ToolStatus.AVAILABLE) {
+        validateWindow(request.getStartTime(), request.getEndTime());
+        boolean scheduled = request.getStartTime() != null;
+        // A tool that is lent out right now can still be booked for a later time slot.
+        if (tool.getStatus() == ToolStatus.BORROWED && !scheduled) {
+            throw new BusinessException("Tool is currently lent out; join its waitlist to be notified when it is returned");
+        }
+        if (tool.getStatus() != ToolStatus.AVAILABLE && tool.getStatus() != ToolStatus.BORROWED) {
             throw new BusinessException("Tool is not available for borrowing");
         }
+        if (scheduled) {
+            TimeSlot conflict = reservationIndex.conflictWith(tool.getId(), request.getStartTime(), request.getEndTime());
+            if (conflict != null) {
+                throw new BusinessException("Tool is already reserved from " + conflict.getStart()
+                        + (conflict.getEnd() != null ? " to " + conflict.getEnd() : " with no planned return"));
+            }
+        }
 
         List<BorrowStatus> activeStatuses = Arrays.asList(
                 BorrowStatus.APPLIED, BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
@@ -66,12 +118,17 @@ public class BorrowService {
                 .borrowerId(borrower.getId())
                 .ownerId(tool.getUserId())
                 .status(BorrowStatus.APPLIED)
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
                 .remark(request.getRemark())
                 .build();
+        record.setDueTime(deadlineScheduler.dueTimeFor(record));
 
         BorrowRecord savedRecord = borrowRecordRepository.save(record);
+        TransactionHooks.afterCommit(() -> deadlineScheduler.schedule(savedRecord));
+        domainEventBus.publish(new BorrowApplied(savedRecord.getId(), tool.getId(), borrower.getId(), tool.getUserId()));
 
-        notificationService.createNotification(
+        outboxService.notify(
                 tool.getUserId(),
                 "New Borrow Request",
                 borrower.getNickname() + " wants to borrow your tool: " + tool.getName(),
@@ -79,47 +136,67 @@ public class BorrowService {
                 savedRecord.getId()
         );
 
-        pointService.addPoints(borrower.getId(), 2, PointType.BORROW, "Points for applying to borrow tool: " + tool.getName());
+        outboxService.awardPoints(borrower.getId(), 2, PointType.BORROW, "Points for applying to borrow tool: " + tool.getName());
 
         return savedRecord;
     }
 
-    public List<BorrowRecord> getMyBorrows(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        List<BorrowRecord> records = borrowRecordRepository.findByBorrowerId(user.getId());
-        enrichBorrowRecords(records);
+    public List<BorrowRecord> getMyBorrows(Long userId) {
+        List<BorrowRecord> records = borrowRecordRepository.findByBorrowerId(userId);
+        batchEnricher.enrichBorrowRecords(records);
         return records;
     }
 
-    public List<BorrowRecord> getReceivedBorrows(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        List<BorrowRecord> records = borrowRecordRepository.findByOwnerId(user.getId());
-        enrichBorrowRecords(records);
+    public List<BorrowRecord> getReceivedBorrows(Long userId) {
+        List<BorrowRecord> records = borrowRecordRepository.findByOwnerId(userId);
+        batchEnricher.enrichBorrowRecords(records);
         return records;
     }
 
     @Transactional
-    public BorrowRecord approveBorrow(String username, Long id) {
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public BorrowRecord approveBorrow(Long userId, Long id) {
         BorrowRecord record = borrowRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BorrowRecord", "id", id));
 
-        if (!record.getOwnerId().equals(owner.getId())) {
+        if (!record.getOwnerId().equals(userId)) {
             throw new BusinessException("Only the tool owner can approve borrow requests");
         }
 
-        if (record.getStatus() != BorrowStatus.APPLIED) {
+        if (!record.getStatus().canTransitionTo(BorrowStatus.APPROVED)) {
             throw new BusinessException("Only applied borrow requests can be approved");
         }
 
+        Tool tool = toolRepository.findById(record.getToolId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", record.getToolId()));
+        if (tool.getStatus() != ToolStatus.AVAILABLE && tool.getStatus() != ToolStatus.BORROWED) {
+            throw new BusinessException("Tool is not available for borrowing");
+        }
+
+        // Approvals of one tool are serialized on its version, across instances too: only one of two
+        // racing approvals moves it, the other sees zero rows and backs out. Every approval moves the
+        // version, so once it has moved here all approvals of the tool are in this transaction's
+        // snapshot, and the slots reloaded from it include those made on other instances.
+        if (toolRepository.bumpVersion(tool.getId(), tool.getVersion()) == 0) {
+            throw new ConflictException("The tool was changed concurrently, please retry");
+        }
+        reservationIndex.refresh(List.of(tool.getId()));
+
         record.setStatus(BorrowStatus.APPROVED);
         record.setApproveTime(LocalDateTime.now());
+        record.setDueTime(deadlineScheduler.dueTimeFor(record));
+
+        // A borrow without a time range, or one overlapping the current lend, conflicts with the
+        // open-ended slot of the picked-up record.
+        if (!reservationIndex.tryReserve(record)) {
+            throw new ConflictException("The requested time overlaps an approved reservation of this tool");
+        }
+        TransactionHooks.afterRollback(() -> reservationIndex.release(id));
+
         BorrowRecord savedRecord = borrowRecordRepository.save(record);
+        TransactionHooks.afterCommit(() -> deadlineScheduler.schedule(savedRecord));
+        domainEventBus.publish(new BorrowApproved(id, record.getToolId(), record.getBorrowerId(), record.getOwnerId()));
 
-        notificationService.createNotification(
+        outboxService.notify(
                 record.getBorrowerId(),
                 "Borrow Request Approved",
                 "Your borrow request has been approved. Please arrange pickup.",
@@ -127,30 +204,32 @@ public class BorrowService {
                 record.getId()
         );
 
-        pointService.addPoints(owner.getId(), 3, PointType.LEND, "Points for lending tool");
+        outboxService.awardPoints(userId, 3, PointType.LEND, "Points for lending tool");
 
         return savedRecord;
     }
 
     @Transactional
-    public BorrowRecord rejectBorrow(String username, Long id) {
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public BorrowRecord rejectBorrow(Long userId, Long id) {
         BorrowRecord record = borrowRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BorrowRecord", "id", id));
 
-        if (!record.getOwnerId().equals(owner.getId())) {
+        if (!record.getOwnerId().equals(userId)) {
             throw new BusinessException("Only the tool owner can reject borrow requests");
         }
 
+        // APPROVED -> REJECTED is reserved for approvals that expire without a pickup.
         if (record.getStatus() != BorrowStatus.APPLIED) {
             throw new BusinessException("Only applied borrow requests can be rejected");
         }
 
         record.setStatus(BorrowStatus.REJECTED);
+        record.setDueTime(null);
         BorrowRecord savedRecord = borrowRecordRepository.save(record);
+        TransactionHooks.afterCommit(() -> deadlineScheduler.cancel(id));
+        domainEventBus.publish(new BorrowRejected(id, record.getToolId(), record.getBorrowerId(), record.getOwnerId()));
 
-        notificationService.createNotification(
+        outboxService.notify(
                 record.getBorrowerId(),
                 "Borrow Request Rejected",
                 "Your borrow request has been rejected.",
@@ -161,62 +240,395 @@ public class BorrowService {
         return savedRecord;
     }
 
+    /**
+     * Approves or rejects many of the owner's pending requests in one go. The records are
+     * checked with one query and moved with guarded set-based updates; ids that cannot be
+     * decided are reported in the result instead of failing the whole batch.
+     */
+    @Transactional
+    public List<BatchDecisionResult> decideBatch(Long userId, BatchDecisionRequest request) {
+        boolean approve;
+        if ("approve".equalsIgnoreCase(request.getAction())) {
+            approve = true;
+        } else if ("reject".equalsIgnoreCase(request.getAction())) {
+            approve = false;
+        } else {
+            throw new BusinessException("Invalid decision action: " + request.getAction());
+        }
+
+        List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, BorrowRecord> records = borrowRecordRepository.findByIdInAndOwnerId(ids, userId).stream()
+                .collect(Collectors.toMap(BorrowRecord::getId, Function.identity()));
+
+        Map<Long, BatchDecisionResult> results = new LinkedHashMap<>();
+        List<BorrowRecord> pending = new ArrayList<>();
+        for (Long id : ids) {
+            BorrowRecord record = records.get(id);
+            if (record == null) {
+                results.put(id, decisionFailed(id, null, "Borrow record not found among your received requests"));
+            } else if (record.getStatus() != BorrowStatus.APPLIED) {
+                results.put(id, decisionFailed(id, record.getStatus(), "Only applied borrow requests can be decided"));
+            } else {
+                pending.add(record);
+            }
+        }
+
+        List<BorrowRecord> decided = approve
+                ? approvePending(pending, results)
+                : rejectPending(pending, results);
+
+        List<NotificationMessage> messages = new ArrayList<>(decided.size());
+        for (BorrowRecord record : decided) {
+            results.put(record.getId(), BatchDecisionResult.builder()
+                    .id(record.getId())
+                    .success(true)
+                    .status(record.getStatus())
+                    .build());
+            domainEventBus.publish(approve
+                    ? new BorrowApproved(record.getId(), record.getToolId(), record.getBorrowerId(), record.getOwnerId())
+                    : new BorrowRejected(record.getId(), record.getToolId(), record.getBorrowerId(), record.getOwnerId()));
+            messages.add(approve
+                    ? new NotificationMessage(record.getBorrowerId(), "Borrow Request Approved",
+                            "Your borrow request has been approved. Please arrange pickup.", "BORROW_APPROVED", record.getId())
+                    : new NotificationMessage(record.getBorrowerId(), "Borrow Request Rejected",
+                            "Your borrow request has been rejected.", "BORROW_REJECTED", record.getId()));
+        }
+        outboxService.notifyAll(messages);
+        if (approve && !decided.isEmpty()) {
+            outboxService.awardPoints(userId, 3 * decided.size(), PointType.LEND,
+                    "Points for lending tools (" + decided.size() + " requests)");
+        }
+
+        return ids.stream().map(results::get).toList();
+    }
+
+    private List<BorrowRecord> approvePending(List<BorrowRecord> pending, Map<Long, BatchDecisionResult> results) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        // As in approveBorrow, moving each tool's version serializes this batch against other approvals
+        // of the same tools on any instance, and the slots are reloaded afterwards. Tools are moved in id
+        // order so two batches sharing tools cannot deadlock. The bump also clears the persistence
+        // context, so the records below are detached and only the set-based update writes them.
+        List<Long> toolIds = pending.stream().map(BorrowRecord::getToolId).distinct().sorted().toList();
+        Map<Long, Tool> tools = toolRepository.findAllById(toolIds).stream()
+                .collect(Collectors.toMap(Tool::getId, Function.identity()));
+        Map<Long, String> toolProblems = new HashMap<>();
+        List<Long> movedToolIds = new ArrayList<>();
+        for (Long toolId : toolIds) {
+            Tool tool = tools.get(toolId);
+            if (tool == null || (tool.getStatus() != ToolStatus.AVAILABLE && tool.getStatus() != ToolStatus.BORROWED)) {
+                toolProblems.put(toolId, "Tool is not available for borrowing");
+            } else if (toolRepository.bumpVersion(toolId, tool.getVersion()) == 0) {
+                toolProblems.put(toolId, "The tool was changed concurrently, please retry");
+            } else {
+                movedToolIds.add(toolId);
+            }
+        }
+        if (!movedToolIds.isEmpty()) {
+            reservationIndex.refresh(movedToolIds);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BorrowRecord> reserved = new ArrayList<>();
+        for (BorrowRecord record : pending) {
+            String problem = toolProblems.get(record.getToolId());
+            if (problem != null) {
+                results.put(record.getId(), decisionFailed(record.getId(), record.getStatus(), problem));
+                continue;
+            }
+            record.setApproveTime(now);
+            if (!reservationIndex.tryReserve(record)) {
+                results.put(record.getId(), decisionFailed(record.getId(), record.getStatus(),
+                        "The requested time overlaps an approved reservation of this tool"));
+                continue;
+            }
+            record.setStatus(BorrowStatus.APPROVED);
+            record.setDueTime(deadlineScheduler.dueTimeFor(record));
+            reserved.add(record);
+        }
+        if (reserved.isEmpty()) {
+            return reserved;
+        }
+        List<Long> reservedIds = reserved.stream().map(BorrowRecord::getId).toList();
+        TransactionHooks.afterRollback(() -> reservedIds.forEach(reservationIndex::release));
+
+        // Immediate approvals share one due time; scheduled ones differ only by their start time.
+        Map<LocalDateTime, List<Long>> idsByDueTime = reserved.stream().collect(Collectors.groupingBy(
+                BorrowRecord::getDueTime, LinkedHashMap::new, Collectors.mapping(BorrowRecord::getId, Collectors.toList())));
+        int updated = 0;
+        for (Map.Entry<LocalDateTime, List<Long>> group : idsByDueTime.entrySet()) {
+            updated += borrowRecordRepository.approveAll(group.getValue(), BorrowStatus.APPLIED, BorrowStatus.APPROVED,
+                    now, group.getKey());
+        }
+
+        Set<Long> moved = movedTo(reserved, BorrowStatus.APPROVED, updated);
+        List<BorrowRecord> approved = new ArrayList<>(moved.size());
+        for (BorrowRecord record : reserved) {
+            if (moved.contains(record.getId())) {
+                approved.add(record);
+            } else {
+                reservationIndex.release(record.getId());
+                results.put(record.getId(), decisionFailed(record.getId(), BorrowStatus.APPLIED,
+                        "The borrow request was changed concurrently, please retry"));
+            }
+        }
+        TransactionHooks.afterCommit(() -> approved.forEach(deadlineScheduler::schedule));
+        return approved;
+    }
+
+    private List<BorrowRecord> rejectPending(List<BorrowRecord> pending, Map<Long, BatchDecisionResult> results) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        List<Long> pendingIds = pending.stream().map(BorrowRecord::getId).toList();
+        int updated = borrowRecordRepository.rejectAll(pendingIds, BorrowStatus.APPLIED, BorrowStatus.REJECTED);
+
+        Set<Long> moved = movedTo(pending, BorrowStatus.REJECTED, updated);
+        List<BorrowRecord> rejected = new ArrayList<>(moved.size());
+        for (BorrowRecord record : pending) {
+            if (moved.contains(record.getId())) {
+                record.setStatus(BorrowStatus.REJECTED);
+                record.setDueTime(null);
+                rejected.add(record);
+            } else {
+                results.put(record.getId(), decisionFailed(record.getId(), record.getStatus(),
+                        "The borrow request was changed concurrently, please retry"));
+            }
+        }
+        List<Long> rejectedIds = rejected.stream().map(BorrowRecord::getId).toList();
+        TransactionHooks.afterCommit(() -> rejectedIds.forEach(deadlineScheduler::cancel));
+        return rejected;
+    }
+
+    /**
+     * Ids of the records a guarded update of this transaction moved to {@code status}. They are
+     * re-read only when the row count falls short: the transaction sees its own writes, while
+     * records a concurrent writer moved still show the snapshot they were first read from.
+     */
+    private Set<Long> movedTo(List<BorrowRecord> records, BorrowStatus status, int updated) {
+        if (updated == records.size()) {
+            return records.stream().map(BorrowRecord::getId).collect(Collectors.toSet());
+        }
+        Map<Long, Long> versions = records.stream()
+                .collect(Collectors.toMap(BorrowRecord::getId, BorrowRecord::getVersion));
+        return borrowRecordRepository.findAllById(versions.keySet()).stream()
+                .filter(record -> record.getStatus() == status
+                        && record.getVersion() == versions.get(record.getId()) + 1)
+                .map(BorrowRecord::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static BatchDecisionResult decisionFailed(Long id, BorrowStatus status, String message) {
+        return BatchDecisionResult.builder()
+                .id(id)
+                .success(false)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
     @Transactional
-    public BorrowRecord confirmPickup(String username, Long id) {
-        User borrower = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public BorrowRecord confirmPickup(Long userId, Long id) {
         BorrowRecord record = borrowRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BorrowRecord", "id", id));
 
-        if (!record.getBorrowerId().equals(borrower.getId())) {
+        if (!record.getBorrowerId().equals(userId)) {
             throw new BusinessException("Only the borrower can confirm pickup");
         }
 
-        if (record.getStatus() != BorrowStatus.APPROVED) {
+        if (!record.getStatus().canTransitionTo(BorrowStatus.PICKED_UP)) {
             throw new BusinessException("Only approved borrow requests can be picked up");
         }
+        LocalDateTime now = LocalDateTime.now();
+        if (record.getStartTime() != null && now.isBefore(record.getStartTime())) {
+            throw new BusinessException("The reservation starts at " + record.getStartTime() + ", it cannot be picked up earlier");
+        }
+
+        // The tool is BORROWED exactly while one of its records is picked up, so the guarded update
+        // fails if the previous borrower has not returned it, whichever instance recorded the lend.
+        Long toolId = record.getToolId();
+        if (toolRepository.transitionStatus(toolId, ToolStatus.AVAILABLE, ToolStatus.BORROWED, now) == 0) {
+            throw new ConflictException("The tool is still lent out or no longer available for pickup");
+        }
 
         record.setStatus(BorrowStatus.PICKED_UP);
-        record.setPickupTime(LocalDateTime.now());
+        record.setPickupTime(now);
+        record.setDueTime(deadlineScheduler.dueTimeFor(record));
         BorrowRecord savedRecord = borrowRecordRepository.save(record);
-
-        Tool tool = toolRepository.findById(record.getToolId())
-                .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", record.getToolId()));
-        tool.setStatus(ToolStatus.BORROWED);
-        toolRepository.save(tool);
+        TransactionHooks.afterCommit(() -> deadlineScheduler.schedule(savedRecord));
+        domainEventBus.publish(new BorrowPickedUp(id, toolId, record.getBorrowerId(), record.getOwnerId()));
 
         return savedRecord;
     }
 
     @Transactional
-    public BorrowRecord confirmReturn(String username, Long id) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public BorrowRecord confirmReturn(Long userId, Long id) {
         BorrowRecord record = borrowRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("BorrowRecord", "id", id));
 
-        if (!record.getBorrowerId().equals(user.getId()) && !record.getOwnerId().equals(user.getId())) {
+        if (!record.getBorrowerId().equals(userId) && !record.getOwnerId().equals(userId)) {
             throw new BusinessException("Only the borrower or the tool owner can confirm return");
         }
 
-        if (record.getStatus() != BorrowStatus.PICKED_UP) {
+        if (!record.getStatus().canTransitionTo(BorrowStatus.RETURNED)) {
             throw new BusinessException("Only picked-up items can be returned");
         }
 
         record.setStatus(BorrowStatus.RETURNED);
         record.setReturnTime(LocalDateTime.now());
+        record.setDueTime(null);
         BorrowRecord savedRecord = borrowRecordRepository.save(record);
 
+        // A tool taken offline while lent out stays offline; the conditional update leaves it alone.
+        boolean backInStock = toolRepository.transitionStatus(
+                record.getToolId(), ToolStatus.BORROWED, ToolStatus.AVAILABLE, LocalDateTime.now()) == 1;
         Tool tool = toolRepository.findById(record.getToolId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", record.getToolId()));
-        tool.setStatus(ToolStatus.AVAILABLE);
-        toolRepository.save(tool);
+        TransactionHooks.afterCommit(() -> {
+            reservationIndex.release(id);
+            deadlineScheduler.cancel(id);
+        });
+        domainEventBus.publish(new BorrowReturned(id, tool.getId(), record.getBorrowerId(), record.getOwnerId()));
+
+        if (backInStock) {
+            promoteWaitlistHead(tool);
+        }
 
-        pointService.addPoints(record.getBorrowerId(), 2, PointType.RETURN, "Points for returning tool: " + tool.getName());
+        outboxService.awardPoints(record.getBorrowerId(), 2, PointType.RETURN, "Points for returning tool: " + tool.getName());
 
         return savedRecord;
     }
 
+    /**
+     * Turns the first user still waiting for the tool into an APPLIED request. Entries whose
+     * user left concurrently or already applied another way are dropped along the way.
+     */
+    private void promoteWaitlistHead(Tool tool) {
+        Long toolId = tool.getId();
+        List<BorrowStatus> activeStatuses = Arrays.asList(
+                BorrowStatus.APPLIED, BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
+        for (Long waitingUserId : toolWaitlist.queue(toolId)) {
+            if (waitlistEntryRepository.deleteByToolIdAndUserId(toolId, waitingUserId) == 0) {
+                continue;
+            }
+            TransactionHooks.afterCommit(() -> toolWaitlist.leave(toolId, waitingUserId));
+            if (borrowRecordRepository.existsByToolIdAndBorrowerIdAndStatusIn(toolId, waitingUserId, activeStatuses)) {
+                continue;
+            }
+            User borrower = userRepository.findById(waitingUserId).orElse(null);
+            if (borrower == null) {
+                continue;
+            }
+
+            BorrowRecord candidate = BorrowRecord.builder()
+                    .toolId(toolId)
+                    .borrowerId(waitingUserId)
+                    .ownerId(tool.getUserId())
+                    .status(BorrowStatus.APPLIED)
+                    .remark("Promoted from the waitlist")
+                    .build();
+            candidate.setDueTime(deadlineScheduler.dueTimeFor(candidate));
+            BorrowRecord promoted = borrowRecordRepository.save(candidate);
+            TransactionHooks.afterCommit(() -> deadlineScheduler.schedule(promoted));
+            domainEventBus.publish(new BorrowApplied(promoted.getId(), toolId, waitingUserId, tool.getUserId()));
+
+            outboxService.notify(
+                    waitingUserId,
+                    "Tool Available",
+                    "The tool you were waiting for is back: " + tool.getName()
+                            + ". A borrow request has been submitted for you.",
+                    "WAITLIST_PROMOTED",
+                    promoted.getId()
+            );
+            outboxService.notify(
+                    tool.getUserId(),
+                    "New Borrow Request",
+                    borrower.getNickname() + " wants to borrow your tool: " + tool.getName(),
+                    "BORROW_APPLY",
+                    promoted.getId()
+            );
+            return;
+        }
+    }
+
+    /**
+     * Fired by the deadline scheduler. A record that moved on or got a later deadline
+     * since the timer was armed is left alone.
+     */
+    @Transactional
+    public void handleDeadline(Long id, BorrowStatus expected) {
+        BorrowRecord record = borrowRecordRepository.findById(id).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (record == null || record.getStatus() != expected
+                || record.getDueTime() == null || record.getDueTime().isAfter(now)) {
+            return;
+        }
+
+        switch (expected) {
+            case APPLIED -> {
+                record.setStatus(BorrowStatus.REJECTED);
+                record.setDueTime(null);
+                record.setRemark("Automatically rejected: the owner did not respond in time");
+                borrowRecordRepository.save(record);
+                domainEventBus.publish(new BorrowRejected(id, record.getToolId(), record.getBorrowerId(), record.getOwnerId()));
+
+                outboxService.notify(
+                        record.getBorrowerId(),
+                        "Borrow Request Expired",
+                        "Your borrow request was not answered in time and has been closed.",
+                        "BORROW_EXPIRED",
+                        id
+                );
+            }
+            case APPROVED -> {
+                record.setStatus(BorrowStatus.REJECTED);
+                record.setDueTime(null);
+                record.setRemark("Approval expired: the tool was not picked up in time");
+                borrowRecordRepository.save(record);
+                TransactionHooks.afterCommit(() -> reservationIndex.release(id));
+                domainEventBus.publish(new BorrowRejected(id, record.getToolId(), record.getBorrowerId(), record.getOwnerId()));
+
+                outboxService.notify(
+                        record.getBorrowerId(),
+                        "Borrow Approval Expired",
+                        "The tool was not picked up in time, so the approval has been withdrawn.",
+                        "BORROW_EXPIRED",
+                        id
+                );
+                outboxService.notify(
+                        record.getOwnerId(),
+                        "Borrow Approval Expired",
+                        "An approved borrow request was not picked up in time and has been closed.",
+                        "BORROW_EXPIRED",
+                        id
+                );
+            }
+            case PICKED_UP -> {
+                record.setDueTime(deadlineScheduler.nextReminderTime());
+                BorrowRecord savedRecord = borrowRecordRepository.save(record);
+                TransactionHooks.afterCommit(() -> deadlineScheduler.schedule(savedRecord));
+
+                outboxService.notify(
+                        record.getBorrowerId(),
+                        "Borrowed Tool Overdue",
+                        "A tool you borrowed is past its return time. Please return it as soon as possible.",
+                        "BORROW_OVERDUE",
+                        id
+                );
+                outboxService.notify(
+                        record.getOwnerId(),
+                        "Borrowed Tool Overdue",
+                        "A tool you lent out is past its return time.",
+                        "BORROW_OVERDUE",
+                        id
+                );
+            }
+            default -> {
+            }
+        }
+    }
+
     public long getActiveBorrowCount() {
         List<BorrowStatus> activeStatuses = Arrays.asList(
                 BorrowStatus.APPLIED, BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
@@ -227,17 +639,18 @@ public class BorrowService {
         return borrowRecordRepository.count();
     }
 
-    private void enrichBorrowRecords(List<BorrowRecord> records) {
-        for (BorrowRecord record : records) {
-            toolRepository.findById(record.getToolId()).ifPresent(tool ->
-                    record.setToolName(tool.getName())
-            );
-            userRepository.findById(record.getBorrowerId()).ifPresent(user ->
-                    record.setBorrowerNickname(user.getNickname())
-            );
-            userRepository.findById(record.getOwnerId()).ifPresent(user ->
-                    record.setOwnerNickname(user.getNickname())
-            );
+    private static void validateWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return;
+        }
+        if (start == null || end == null) {
+            throw new BusinessException("Both start time and end time are required for a reservation");
+        }
+        if (!start.isBefore(end)) {
+            throw new BusinessException("Reservation start time must be before its end time");
+        }
+        if (!end.isAfter(LocalDateTime.now())) {
+            throw new BusinessException("Reservation must end in the future");
         }
     }
 }
@@ -0,0 +1,104 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.DashboardStats;
+import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.event.BorrowApplied;
+import com.community.toolsharing.event.BorrowRejected;
+import com.community.toolsharing.event.BorrowReturned;
+import com.community.toolsharing.event.DomainEvent;
+import com.community.toolsharing.event.DomainEventListener;
+import com.community.toolsharing.event.ToolChanged;
+import com.community.toolsharing.event.ToolPublished;
+import com.community.toolsharing.event.UserRegistered;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard totals kept in memory and moved by the domain events of each state
+ * transition, so the admin dashboard never counts rows. The counters are reset from
+ * the database at startup and periodically after that, which also repairs any drift
+ * from events dropped under load or applied twice around a reconciliation.
+ */
+@Component
+public class DashboardCounters implements DomainEventListener<DomainEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private final UserService userService;
+    private final ToolService toolService;
+    private final BorrowService borrowService;
+    private final BorrowArchiveService borrowArchiveService;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalTools = new AtomicLong();
+    private final AtomicLong pendingAudit = new AtomicLong();
+    private final AtomicLong activeBorrows = new AtomicLong();
+    private final AtomicLong totalBorrows = new AtomicLong();
+
+    public DashboardCounters(UserService userService,
+                             ToolService toolService,
+                             BorrowService borrowService,
+                             BorrowArchiveService borrowArchiveService) {
+        this.userService = userService;
+        this.toolService = toolService;
+        this.borrowService = borrowService;
+        this.borrowArchiveService = borrowArchiveService;
+    }
+
+    public DashboardStats snapshot() {
+        return DashboardStats.builder()
+                .totalUsers(totalUsers.get())
+                .totalTools(totalTools.get())
+                .pendingAuditCount(pendingAudit.get())
+                .activeBorrows(activeBorrows.get())
+                .totalBorrows(totalBorrows.get())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dashboard.reconcile-interval-ms:600000}",
+            fixedDelayString = "${dashboard.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        totalUsers.set(userService.getUserCount());
+        totalTools.set(toolService.getTotalToolCount());
+        pendingAudit.set(toolService.getToolCountByStatus(ToolStatus.PENDING_REVIEW));
+        activeBorrows.set(borrowService.getActiveBorrowCount());
+        // Archival moves records between tables without changing the total.
+        totalBorrows.set(borrowService.getTotalBorrowCount() + borrowArchiveService.getArchivedCount());
+        logger.debug("Dashboard counters reconciled: {}", snapshot());
+    }
+
+    @Override
+    public Class<DomainEvent> eventType() {
+        return DomainEvent.class;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof UserRegistered) {
+            totalUsers.incrementAndGet();
+        } else if (event instanceof ToolPublished) {
+            totalTools.incrementAndGet();
+            pendingAudit.incrementAndGet();
+        } else if (event instanceof ToolChanged changed) {
+            if (changed.status() == null) {
+                totalTools.decrementAndGet();
+            }
+            if (changed.previousStatus() == ToolStatus.PENDING_REVIEW && changed.status() != ToolStatus.PENDING_REVIEW) {
+                pendingAudit.decrementAndGet();
+            }
+        } else if (event instanceof BorrowApplied) {
+            totalBorrows.incrementAndGet();
+            activeBorrows.incrementAndGet();
+        } else if (event instanceof BorrowRejected || event instanceof BorrowReturned) {
+            // Both approved and applied requests count as active until rejected or returned.
+            activeBorrows.decrementAndGet();
+        }
+    }
+}
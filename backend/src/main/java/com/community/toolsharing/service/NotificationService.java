@@ -1,72 +1,181 @@
 package com.community.toolsharing.service;
 
+import com.community.toolsharing.dto.NotificationMessage;
 import com.community.toolsharing.exception.BusinessException;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.Notification;
-import com.community.toolsharing.model.User;
+import com.community.toolsharing.push.NotificationPushRegistry;
 import com.community.toolsharing.repository.NotificationRepository;
-import com.community.toolsharing.repository.UserRepository;
+import com.community.toolsharing.util.TransactionHooks;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
 
+    private static final String NOTIFICATION_EVENT = "notification";
+    private static final String UNREAD_COUNT_EVENT = "unread-count";
+    private static final int MAX_MARK_READ_IDS = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(user_id, title, content, type, is_read, related_id, create_time) VALUES (?, ?, ?, ?, false, ?, ?)";
+
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final NotificationPushRegistry pushRegistry;
+    private final UnreadCounters unreadCounters;
+    private final JdbcTemplate jdbcTemplate;
 
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationPushRegistry pushRegistry,
+                               UnreadCounters unreadCounters,
+                               JdbcTemplate jdbcTemplate) {
         this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
+        this.pushRegistry = pushRegistry;
+        this.unreadCounters = unreadCounters;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public void createNotification(Long userId, String title, String content, String type, Long relatedId) {
-        Notification notification = Notification.builder()
-                .userId(userId)
-                .title(title)
-                .content(content)
-                .type(type)
-                .relatedId(relatedId)
-                .isRead(false)
-                .build();
-        notificationRepository.save(notification);
+        createNotifications(List.of(new NotificationMessage(userId, title, content, type, relatedId)));
+    }
+
+    /**
+     * Inserts the notifications as one JDBC batch; counters and open streams are
+     * updated once the surrounding transaction commits.
+     */
+    @Transactional
+    public void createNotifications(List<NotificationMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NotificationMessage message = messages.get(i);
+                        ps.setLong(1, message.getUserId());
+                        ps.setString(2, message.getTitle());
+                        ps.setString(3, message.getContent());
+                        ps.setString(4, message.getType());
+                        if (message.getRelatedId() != null) {
+                            ps.setLong(5, message.getRelatedId());
+                        } else {
+                            ps.setNull(5, Types.BIGINT);
+                        }
+                        ps.setTimestamp(6, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return messages.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Notification> created = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            NotificationMessage message = messages.get(i);
+            Long id = i < keys.size() ? ((Number) keys.get(i).values().iterator().next()).longValue() : null;
+            created.add(Notification.builder()
+                    .id(id)
+                    .userId(message.getUserId())
+                    .title(message.getTitle())
+                    .content(message.getContent())
+                    .type(message.getType())
+                    .relatedId(message.getRelatedId())
+                    .isRead(false)
+                    .createTime(now)
+                    .build());
+        }
+
+        TransactionHooks.afterCommit(() -> {
+            Map<Long, List<Notification>> byUser = created.stream()
+                    .collect(Collectors.groupingBy(Notification::getUserId));
+            byUser.forEach((userId, notifications) -> {
+                unreadCounters.adjust(userId, notifications.size());
+                if (pushRegistry.isConnected(userId)) {
+                    notifications.forEach(notification -> pushRegistry.push(userId, NOTIFICATION_EVENT, notification));
+                    pushRegistry.push(userId, UNREAD_COUNT_EVENT, unreadCounters.get(userId));
+                }
+            });
+        });
     }
 
-    public List<Notification> getMyNotifications(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        return notificationRepository.findByUserIdOrderByCreateTimeDesc(user.getId());
+    public SseEmitter openStream(Long userId) {
+        SseEmitter emitter = pushRegistry.connect(userId);
+        pushRegistry.push(userId, UNREAD_COUNT_EVENT, getUnreadCount(userId));
+        return emitter;
+    }
+
+    public List<Notification> getMyNotifications(Long userId) {
+        return notificationRepository.findByUserIdOrderByCreateTimeDesc(userId);
     }
 
     @Transactional
-    public void markAsRead(String username, Long id) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public void markAsRead(Long userId, Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
-        if (!notification.getUserId().equals(user.getId())) {
+        if (!notification.getUserId().equals(userId)) {
             throw new BusinessException("You can only mark your own notifications as read");
         }
+        if (Boolean.TRUE.equals(notification.getIsRead())) {
+            return;
+        }
         notification.setIsRead(true);
         notificationRepository.save(notification);
+        applyReadAfterCommit(userId, 1);
     }
 
     @Transactional
-    public void markAllAsRead(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsRead(user.getId(), false);
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
+    public int markAsRead(Long userId, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
         }
-        notificationRepository.saveAll(unreadNotifications);
+        if (ids.size() > MAX_MARK_READ_IDS) {
+            throw new BusinessException("At most " + MAX_MARK_READ_IDS + " notifications can be marked at once");
+        }
+        int updated = notificationRepository.markRead(userId, ids);
+        applyReadAfterCommit(userId, updated);
+        return updated;
+    }
+
+    @Transactional
+    public void markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        applyReadAfterCommit(userId, updated);
     }
 
-    public long getUnreadCount(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        return notificationRepository.countByUserIdAndIsRead(user.getId(), false);
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
+    private void applyReadAfterCommit(Long userId, int readCount) {
+        if (readCount == 0) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            unreadCounters.adjust(userId, -readCount);
+            if (pushRegistry.isConnected(userId)) {
+                pushRegistry.push(userId, UNREAD_COUNT_EVENT, unreadCounters.get(userId));
+            }
+        });
     }
 }
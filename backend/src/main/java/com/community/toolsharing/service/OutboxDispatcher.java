@@ -0,0 +1,144 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.NotificationMessage;
+import com.community.toolsharing.dto.PointAward;
+import com.community.toolsharing.enums.OutboxStatus;
+import com.community.toolsharing.model.OutboxEvent;
+import com.community.toolsharing.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Drains the outbox in batches. Each batch is delivered and deleted in one
+ * transaction, so an event's effects are applied exactly once even though delivery
+ * is retried. When a batch fails, its events are retried one by one so a single bad
+ * event cannot hold back the rest; it backs off exponentially and is parked as
+ * FAILED after the configured number of attempts.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationService notificationService;
+    private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            NotificationService notificationService,
+                            PointService pointService,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${outbox.batch-size:200}") int batchSize,
+                            @Value("${outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.retry-base-ms:1000}") long retryBaseMillis,
+                            @Value("${outbox.retry-max-ms:300000}") long retryMaxMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationService = notificationService;
+        this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        int delivered;
+        do {
+            delivered = dispatchBatch();
+        } while (delivered == batchSize);
+    }
+
+    private int dispatchBatch() {
+        try {
+            Integer delivered = transactionTemplate.execute(status -> {
+                List<OutboxEvent> events = outboxEventRepository.claimBatch(LocalDateTime.now(), batchSize);
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                deliver(events);
+                outboxEventRepository.deleteAllInBatch(events);
+                return events.size();
+            });
+            return delivered == null ? 0 : delivered;
+        } catch (RuntimeException e) {
+            logger.warn("Outbox batch failed, retrying events one by one: {}", e.getMessage());
+            dispatchIndividually();
+            return 0;
+        }
+    }
+
+    private void dispatchIndividually() {
+        for (Long id : outboxEventRepository.findDueIds(LocalDateTime.now(), batchSize)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.claimById(id)
+                        .ifPresent(event -> {
+                            deliver(List.of(event));
+                            outboxEventRepository.delete(event);
+                        }));
+            } catch (RuntimeException e) {
+                recordFailure(id, e);
+            }
+        }
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        List<NotificationMessage> notifications = new ArrayList<>();
+        List<PointAward> awards = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            switch (event.getEventType()) {
+                case NOTIFICATION -> notifications.add(read(event, NotificationMessage.class));
+                case NOTIFICATION_BATCH -> notifications.addAll(Arrays.asList(read(event, NotificationMessage[].class)));
+                case POINTS -> awards.add(read(event, PointAward.class));
+            }
+        }
+        pointService.addPoints(awards);
+        notificationService.createNotifications(notifications);
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload in outbox event " + event.getId(), e);
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(id).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempts - 1, 20));
+            OutboxStatus nextStatus = attempts >= maxAttempts ? OutboxStatus.FAILED : OutboxStatus.PENDING;
+            String message = String.valueOf(error.getMessage());
+            outboxEventRepository.recordFailure(id, nextStatus, LocalDateTime.now().plus(Duration.ofMillis(delay)),
+                    message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            if (nextStatus == OutboxStatus.FAILED) {
+                logger.error("Outbox event {} failed {} times and was parked: {}", id, attempts, message);
+            }
+        }));
+    }
+}
@@ -0,0 +1,67 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.NotificationMessage;
+import com.community.toolsharing.dto.PointAward;
+import com.community.toolsharing.enums.OutboxEventType;
+import com.community.toolsharing.enums.PointType;
+import com.community.toolsharing.model.OutboxEvent;
+import com.community.toolsharing.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records side effects as outbox rows in the caller's transaction, so they commit or
+ * roll back with the state change that caused them. OutboxDispatcher delivers them.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void notify(Long userId, String title, String content, String type, Long relatedId) {
+        enqueue(OutboxEventType.NOTIFICATION, new NotificationMessage(userId, title, content, type, relatedId));
+    }
+
+    /**
+     * Records many notifications as a single outbox row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void notifyAll(List<NotificationMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (messages.size() == 1) {
+            enqueue(OutboxEventType.NOTIFICATION, messages.get(0));
+            return;
+        }
+        enqueue(OutboxEventType.NOTIFICATION_BATCH, messages);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void awardPoints(Long userId, int points, PointType type, String description) {
+        enqueue(OutboxEventType.POINTS, new PointAward(userId, points, type, description));
+    }
+
+    private void enqueue(OutboxEventType eventType, Object payload) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " outbox payload", e);
+        }
+    }
+}
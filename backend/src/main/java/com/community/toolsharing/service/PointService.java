@@ -1,58 +1,105 @@
 package com.community.toolsharing.service;
 
-import com.community.toolsharing.enums.PointType;
+import com.community.toolsharing.dto.PointAward;
+import com.community.toolsharing.dto.RankingEntry;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.PointRecord;
 import com.community.toolsharing.model.User;
 import com.community.toolsharing.repository.PointRecordRepository;
+import com.community.toolsharing.ranking.PointLeaderboard;
 import com.community.toolsharing.repository.UserRepository;
+import com.community.toolsharing.util.TransactionHooks;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class PointService {
 
+    private static final int RANKING_SIZE = 50;
+
+    private static final String INSERT_RECORD_SQL = "INSERT INTO point_records "
+            + "(user_id, points, type, description, create_time) VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREMENT_SQL = "UPDATE users SET points = points + ? WHERE id = ?";
+
     private final PointRecordRepository pointRecordRepository;
     private final UserRepository userRepository;
+    private final PointLeaderboard pointLeaderboard;
+    private final JdbcTemplate jdbcTemplate;
 
-    public PointService(PointRecordRepository pointRecordRepository, UserRepository userRepository) {
+    public PointService(PointRecordRepository pointRecordRepository,
+                        UserRepository userRepository,
+                        PointLeaderboard pointLeaderboard,
+                        JdbcTemplate jdbcTemplate) {
         this.pointRecordRepository = pointRecordRepository;
         this.userRepository = userRepository;
+        this.pointLeaderboard = pointLeaderboard;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * Appends the ledger rows as one JDBC batch and applies one increment per user,
+     * in user id order so concurrent batches lock the users rows consistently.
+     */
     @Transactional
-    public void addPoints(Long userId, int points, PointType type, String description) {
-        PointRecord record = PointRecord.builder()
-                .userId(userId)
-                .points(points)
-                .type(type)
-                .description(description)
-                .build();
-        pointRecordRepository.save(record);
+    public void addPoints(List<PointAward> awards) {
+        if (awards.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_RECORD_SQL, awards, awards.size(), (ps, award) -> {
+            ps.setLong(1, award.getUserId());
+            ps.setInt(2, award.getPoints());
+            ps.setString(3, award.getType().name());
+            ps.setString(4, award.getDescription());
+            ps.setTimestamp(5, now);
+        });
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        user.setPoints(user.getPoints() + points);
-        userRepository.save(user);
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (PointAward award : awards) {
+            deltas.merge(award.getUserId(), award.getPoints(), Integer::sum);
+        }
+        List<Map.Entry<Long, Integer>> increments = new ArrayList<>(deltas.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, increments, increments.size(), (ps, increment) -> {
+            ps.setInt(1, increment.getValue());
+            ps.setLong(2, increment.getKey());
+        });
+        for (int i = 0; i < increments.size(); i++) {
+            if (updated[0][i] == 0) {
+                Long userId = increments.get(i).getKey();
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+        }
+
+        TransactionHooks.afterCommit(() -> deltas.forEach(pointLeaderboard::addPoints));
     }
 
-    public List<PointRecord> getMyPoints(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        return pointRecordRepository.findByUserIdOrderByCreateTimeDesc(user.getId());
+    public List<PointRecord> getMyPoints(Long userId) {
+        return pointRecordRepository.findByUserIdOrderByCreateTimeDesc(userId);
     }
 
-    public List<User> getRanking() {
-        List<User> allUsers = userRepository.findAllByOrderByPointsDesc();
-        return allUsers.stream().limit(50).collect(Collectors.toList());
+    public List<RankingEntry> getRanking() {
+        return pointLeaderboard.top(RANKING_SIZE);
     }
 
-    public Integer getUserPoints(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public RankingEntry getMyRank(Long userId) {
+        RankingEntry entry = pointLeaderboard.rankOf(userId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return entry;
+    }
+
+    public Integer getUserPoints(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         return user.getPoints();
     }
 }
@@ -0,0 +1,90 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.model.OwnerRatingStats;
+import com.community.toolsharing.model.ToolRatingStats;
+import com.community.toolsharing.repository.OwnerRatingStatsRepository;
+import com.community.toolsharing.repository.ReviewRepository;
+import com.community.toolsharing.repository.ToolRatingStatsRepository;
+import com.community.toolsharing.repository.ToolRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-tool and per-owner rating aggregates (count, sum, 1-5 histogram, average). They
+ * are moved by one upsert each inside the transaction that stores a review, and the
+ * tool's average and count are copied onto the tools row so the catalog can sort by
+ * rating through an index instead of aggregating reviews.
+ */
+@Service
+public class RatingStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingStatsService.class);
+
+    private final ToolRatingStatsRepository toolRatingStatsRepository;
+    private final OwnerRatingStatsRepository ownerRatingStatsRepository;
+    private final ToolRepository toolRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingStatsService(ToolRatingStatsRepository toolRatingStatsRepository,
+                              OwnerRatingStatsRepository ownerRatingStatsRepository,
+                              ToolRepository toolRepository,
+                              ReviewRepository reviewRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.toolRatingStatsRepository = toolRatingStatsRepository;
+        this.ownerRatingStatsRepository = ownerRatingStatsRepository;
+        this.toolRepository = toolRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRating(Long toolId, Long ownerId, int rating) {
+        toolRatingStatsRepository.addRating(toolId, rating);
+        ownerRatingStatsRepository.addRating(ownerId, rating);
+        toolRepository.syncRating(toolId);
+    }
+
+    public ToolRatingStats getToolStats(Long toolId) {
+        return toolRatingStatsRepository.findById(toolId).orElseGet(() -> ToolRatingStats.builder()
+                .toolId(toolId)
+                .reviewCount(0L).ratingSum(0L)
+                .rating1(0L).rating2(0L).rating3(0L).rating4(0L).rating5(0L)
+                .avgRating(BigDecimal.ZERO)
+                .build());
+    }
+
+    public OwnerRatingStats getOwnerStats(Long ownerId) {
+        return ownerRatingStatsRepository.findById(ownerId).orElseGet(() -> OwnerRatingStats.builder()
+                .ownerId(ownerId)
+                .reviewCount(0L).ratingSum(0L)
+                .rating1(0L).rating2(0L).rating3(0L).rating4(0L).rating5(0L)
+                .avgRating(BigDecimal.ZERO)
+                .build());
+    }
+
+    /**
+     * Fills the aggregates from existing reviews the first time the tables are used.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (toolRatingStatsRepository.count() > 0 || reviewRepository.count() == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int tools = toolRatingStatsRepository.rebuildAll();
+            ownerRatingStatsRepository.rebuildAll();
+            toolRepository.syncAllRatings();
+            logger.info("Rating aggregates rebuilt for {} tools", tools);
+        });
+    }
+}
@@ -3,6 +3,8 @@ package com.community.toolsharing.service;
 import com.community.toolsharing.dto.ReviewRequest;
 import com.community.toolsharing.enums.BorrowStatus;
 import com.community.toolsharing.enums.PointType;
+import com.community.toolsharing.event.DomainEventBus;
+import com.community.toolsharing.event.ReviewCreated;
 import com.community.toolsharing.exception.BusinessException;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.BorrowRecord;
@@ -22,22 +24,31 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final BorrowRecordRepository borrowRecordRepository;
     private final UserRepository userRepository;
-    private final PointService pointService;
+    private final OutboxService outboxService;
+    private final DomainEventBus domainEventBus;
+    private final BatchEnricher batchEnricher;
+    private final RatingStatsService ratingStatsService;
 
     public ReviewService(ReviewRepository reviewRepository,
                          BorrowRecordRepository borrowRecordRepository,
                          UserRepository userRepository,
-                         PointService pointService) {
+                         OutboxService outboxService,
+                         DomainEventBus domainEventBus,
+                         BatchEnricher batchEnricher,
+                         RatingStatsService ratingStatsService) {
         this.reviewRepository = reviewRepository;
         this.borrowRecordRepository = borrowRecordRepository;
         this.userRepository = userRepository;
-        this.pointService = pointService;
+        this.outboxService = outboxService;
+        this.domainEventBus = domainEventBus;
+        this.batchEnricher = batchEnricher;
+        this.ratingStatsService = ratingStatsService;
     }
 
     @Transactional
-    public Review createReview(String username, ReviewRequest request) {
-        User reviewer = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public Review createReview(Long userId, ReviewRequest request) {
+        User reviewer = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         BorrowRecord borrowRecord = borrowRecordRepository.findById(request.getBorrowRecordId())
                 .orElseThrow(() -> new ResourceNotFoundException("BorrowRecord", "id", request.getBorrowRecordId()));
@@ -59,32 +70,25 @@ public class ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(review);
+        ratingStatsService.addRating(borrowRecord.getToolId(), borrowRecord.getOwnerId(), request.getRating());
         savedReview.setReviewerNickname(reviewer.getNickname());
 
-        pointService.addPoints(reviewer.getId(), 2, PointType.REVIEW, "Points for writing a review");
+        outboxService.awardPoints(reviewer.getId(), 2, PointType.REVIEW, "Points for writing a review");
+        domainEventBus.publish(new ReviewCreated(savedReview.getId(), savedReview.getToolId(),
+                reviewer.getId(), savedReview.getRating()));
 
         return savedReview;
     }
 
     public List<Review> getToolReviews(Long toolId) {
         List<Review> reviews = reviewRepository.findByToolId(toolId);
-        enrichReviewerNickname(reviews);
+        batchEnricher.enrichReviews(reviews);
         return reviews;
     }
 
-    public List<Review> getMyReviews(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        List<Review> reviews = reviewRepository.findByReviewerId(user.getId());
-        enrichReviewerNickname(reviews);
+    public List<Review> getMyReviews(Long userId) {
+        List<Review> reviews = reviewRepository.findByReviewerId(userId);
+        batchEnricher.enrichReviews(reviews);
         return reviews;
     }
-
-    private void enrichReviewerNickname(List<Review> reviews) {
-        for (Review review : reviews) {
-            userRepository.findById(review.getReviewerId()).ifPresent(user ->
-                    review.setReviewerNickname(user.getNickname())
-            );
-        }
-    }
 }
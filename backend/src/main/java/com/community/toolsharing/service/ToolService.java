@@ -1,45 +1,101 @@
 package com.community.toolsharing.service;
 
+import com.community.toolsharing.dto.AdminToolQuery;
+import com.community.toolsharing.dto.AuditLeaseBatch;
 import com.community.toolsharing.dto.AuditRequest;
+import com.community.toolsharing.dto.BatchAuditRequest;
+import com.community.toolsharing.dto.BatchAuditResult;
+import com.community.toolsharing.dto.CursorPage;
+import com.community.toolsharing.dto.KeysetCursor;
+import com.community.toolsharing.dto.PageResult;
+import com.community.toolsharing.dto.RatingCursor;
+import com.community.toolsharing.dto.ToolCatalogQuery;
+import com.community.toolsharing.dto.ToolAvailability;
 import com.community.toolsharing.dto.ToolRequest;
 import com.community.toolsharing.enums.PointType;
 import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.event.DomainEventBus;
+import com.community.toolsharing.event.ToolChanged;
+import com.community.toolsharing.event.ToolPublished;
 import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.exception.ConflictException;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.Tool;
-import com.community.toolsharing.model.User;
 import com.community.toolsharing.repository.ToolRepository;
-import com.community.toolsharing.repository.UserRepository;
+import com.community.toolsharing.repository.ToolSpecifications;
+import com.community.toolsharing.reservation.ReservationIndex;
+import com.community.toolsharing.search.ToolSearchIndex;
+import com.community.toolsharing.util.PageRequests;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ToolService {
 
+    private static final int DEFAULT_CATALOG_PAGE_SIZE = 20;
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final int SEARCH_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_FREE_TOOLS_SIZE = 50;
+    private static final int DEFAULT_AUDIT_LEASE_SIZE = 20;
+    private static final int MAX_AUDIT_LEASE_SIZE = 100;
+    private static final List<ToolStatus> LENDABLE_STATUSES = List.of(ToolStatus.AVAILABLE, ToolStatus.BORROWED);
+
+    // The orders of the catalog queries, used to merge pages read from several chunks of search matches.
+    private static final Comparator<Tool> CATALOG_ORDER =
+            Comparator.comparing(Tool::getCreateTime).thenComparing(Tool::getId).reversed();
+    private static final Comparator<Tool> RATING_ORDER =
+            Comparator.comparing(Tool::getAvgRating).thenComparing(Tool::getId).reversed();
+
+    public static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("id", "name", "category", "status", "createTime", "updateTime");
+
     private final ToolRepository toolRepository;
-    private final UserRepository userRepository;
-    private final PointService pointService;
+    private final OutboxService outboxService;
+    private final DomainEventBus domainEventBus;
+    private final ToolSearchIndex toolSearchIndex;
+    private final ReservationIndex reservationIndex;
+    private final BatchEnricher batchEnricher;
+    private final RatingStatsService ratingStatsService;
+    private final long auditLeaseMinutes;
 
     public ToolService(ToolRepository toolRepository,
-                       UserRepository userRepository,
-                       PointService pointService) {
+                       OutboxService outboxService,
+                       DomainEventBus domainEventBus,
+                       ToolSearchIndex toolSearchIndex,
+                       ReservationIndex reservationIndex,
+                       BatchEnricher batchEnricher,
+                       RatingStatsService ratingStatsService,
+                       @Value("${audit.lease-minutes:15}") long auditLeaseMinutes) {
         this.toolRepository = toolRepository;
-        this.userRepository = userRepository;
-        this.pointService = pointService;
+        this.outboxService = outboxService;
+        this.domainEventBus = domainEventBus;
+        this.toolSearchIndex = toolSearchIndex;
+        this.reservationIndex = reservationIndex;
+        this.batchEnricher = batchEnricher;
+        this.ratingStatsService = ratingStatsService;
+        this.auditLeaseMinutes = auditLeaseMinutes;
     }
 
     @Transactional
-    public Tool publishTool(String username, ToolRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-
+    public Tool publishTool(Long userId, ToolRequest request) {
         Tool tool = Tool.builder()
-                .userId(user.getId())
+                .userId(userId)
                 .name(request.getName())
                 .description(request.getDescription())
                 .category(request.getCategory())
@@ -50,8 +106,9 @@ public class ToolService {
                 .build();
 
         Tool savedTool = toolRepository.save(tool);
+        domainEventBus.publish(new ToolPublished(savedTool.getId(), userId));
 
-        pointService.addPoints(user.getId(), 5, PointType.PUBLISH, "Points for publishing tool: " + request.getName());
+        outboxService.awardPoints(userId, 5, PointType.PUBLISH, "Points for publishing tool: " + request.getName());
 
         return savedTool;
     }
@@ -59,44 +116,134 @@ public class ToolService {
     public List<Tool> getAvailableTools(String keyword, String category) {
         List<Tool> tools;
         if (keyword != null && !keyword.trim().isEmpty()) {
-            tools = toolRepository.findByNameContainingAndStatusIn(keyword.trim(),
-                    Collections.singletonList(ToolStatus.AVAILABLE));
+            List<Long> rankedIds = toolSearchIndex.searchAll(keyword.trim(), trimToNull(category));
+            tools = loadInRankOrder(rankedIds);
+        } else if (StringUtils.hasText(category)) {
+            tools = toolRepository.findByStatusAndCategory(ToolStatus.AVAILABLE, category.trim());
         } else {
             tools = toolRepository.findByStatus(ToolStatus.AVAILABLE);
         }
 
-        for (Tool tool : tools) {
-            enrichOwnerNickname(tool);
-        }
+        batchEnricher.enrichTools(tools);
 
         return tools;
     }
 
+    public CursorPage<Tool> getToolCatalog(ToolCatalogQuery query) {
+        int size = query.getSize() == null ? DEFAULT_CATALOG_PAGE_SIZE
+                : Math.max(1, Math.min(query.getSize(), MAX_CATALOG_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        Pageable limit = PageRequest.of(0, size + 1);
+        String category = trimToNull(query.getCategory());
+        String condition = trimToNull(query.getCondition());
+        String location = trimToNull(query.getLocation());
+        boolean byRating = "rating".equalsIgnoreCase(query.getSort());
+        boolean hasCursor = StringUtils.hasText(query.getCursor());
+        KeysetCursor cursor = hasCursor && !byRating ? KeysetCursor.decode(query.getCursor()) : null;
+        RatingCursor ratingCursor = hasCursor && byRating ? RatingCursor.decode(query.getCursor()) : null;
+
+        List<Tool> tools;
+        if (StringUtils.hasText(query.getKeyword())) {
+            // The matches are passed in bounded IN lists. Each chunk is paged with the same keyset and the
+            // chunk pages are merged in catalog order, so no match is cut off however many there are.
+            List<Long> matches = toolSearchIndex.searchAll(query.getKeyword().trim(), category);
+            tools = new ArrayList<>();
+            for (List<Long> chunk : chunks(matches)) {
+                if (byRating) {
+                    tools.addAll(ratingCursor == null
+                            ? toolRepository.findCatalogByRatingFirstPageAmong(chunk, ToolStatus.AVAILABLE, category,
+                                    condition, location, limit)
+                            : toolRepository.findCatalogByRatingPageAfterAmong(chunk, ToolStatus.AVAILABLE, category,
+                                    condition, location, ratingCursor.getRating(), ratingCursor.getId(), limit));
+                } else {
+                    tools.addAll(cursor == null
+                            ? toolRepository.findCatalogFirstPageAmong(chunk, ToolStatus.AVAILABLE, category, condition,
+                                    location, limit)
+                            : toolRepository.findCatalogPageAfterAmong(chunk, ToolStatus.AVAILABLE, category, condition,
+                                    location, cursor.getTime(), cursor.getId(), limit));
+                }
+            }
+            tools.sort(byRating ? RATING_ORDER : CATALOG_ORDER);
+        } else if (byRating) {
+            tools = ratingCursor == null
+                    ? toolRepository.findCatalogByRatingFirstPage(ToolStatus.AVAILABLE, category, condition, location,
+                            limit)
+                    : toolRepository.findCatalogByRatingPageAfter(ToolStatus.AVAILABLE, category, condition, location,
+                            ratingCursor.getRating(), ratingCursor.getId(), limit);
+        } else {
+            tools = cursor == null
+                    ? toolRepository.findCatalogFirstPage(ToolStatus.AVAILABLE, category, condition, location, limit)
+                    : toolRepository.findCatalogPageAfter(ToolStatus.AVAILABLE, category, condition, location,
+                            cursor.getTime(), cursor.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (tools.size() > size) {
+            tools = new ArrayList<>(tools.subList(0, size));
+            Tool last = tools.get(size - 1);
+            nextCursor = byRating
+                    ? new RatingCursor(last.getAvgRating(), last.getId()).encode()
+                    : new KeysetCursor(last.getCreateTime(), last.getId()).encode();
+        }
+
+        batchEnricher.enrichTools(tools);
+
+        return CursorPage.of(tools, nextCursor);
+    }
+
     public Tool getToolById(Long id) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", id));
-        enrichOwnerNickname(tool);
+        batchEnricher.enrichTools(List.of(tool));
+        tool.setRatingStats(ratingStatsService.getToolStats(id));
         return tool;
     }
 
-    public List<Tool> getMyTools(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        List<Tool> tools = toolRepository.findByUserId(user.getId());
-        for (Tool tool : tools) {
-            enrichOwnerNickname(tool);
+    public ToolAvailability getAvailability(Long id, LocalDateTime start, LocalDateTime end) {
+        if (!toolRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Tool", "id", id);
         }
+        LocalDateTime from = start != null ? start : LocalDateTime.now();
+        if (end != null && !from.isBefore(end)) {
+            throw new BusinessException("Start time must be before end time");
+        }
+        return ToolAvailability.builder()
+                .toolId(id)
+                .free(start != null && end != null ? reservationIndex.isFree(id, start, end) : null)
+                .reservations(reservationIndex.reservations(id, from, end))
+                .build();
+    }
+
+    public List<Tool> findFreeTools(String category, LocalDateTime start, LocalDateTime end, Integer size) {
+        if (!start.isBefore(end)) {
+            throw new BusinessException("Start time must be before end time");
+        }
+        int limit = size == null ? DEFAULT_FREE_TOOLS_SIZE : Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        List<Tool> tools = new ArrayList<>();
+        for (Tool tool : toolRepository.findByCategoryAndStatusIn(category.trim(), LENDABLE_STATUSES)) {
+            if (reservationIndex.isFree(tool.getId(), start, end)) {
+                tools.add(tool);
+                if (tools.size() == limit) {
+                    break;
+                }
+            }
+        }
+        batchEnricher.enrichTools(tools);
+        return tools;
+    }
+
+    public List<Tool> getMyTools(Long userId) {
+        List<Tool> tools = toolRepository.findByUserId(userId);
+        batchEnricher.enrichTools(tools);
         return tools;
     }
 
     @Transactional
-    public Tool updateTool(String username, Long id, ToolRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public Tool updateTool(Long userId, Long id, ToolRequest request) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", id));
 
-        if (!tool.getUserId().equals(user.getId())) {
+        if (!tool.getUserId().equals(userId)) {
             throw new BusinessException("You can only update your own tools");
         }
 
@@ -108,55 +255,196 @@ public class ToolService {
         tool.setLocation(request.getLocation());
         tool.setUpdateTime(LocalDateTime.now());
 
-        return toolRepository.save(tool);
+        Tool savedTool = toolRepository.save(tool);
+        domainEventBus.publish(new ToolChanged(savedTool.getId(), savedTool.getStatus(), savedTool.getStatus()));
+        return savedTool;
     }
 
     @Transactional
-    public void deleteTool(String username, Long id) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public void deleteTool(Long userId, Long id) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", id));
 
-        if (!tool.getUserId().equals(user.getId())) {
+        if (!tool.getUserId().equals(userId)) {
             throw new BusinessException("You can only delete your own tools");
         }
 
         toolRepository.delete(tool);
+        domainEventBus.publish(new ToolChanged(id, tool.getStatus(), null));
     }
 
     public List<Tool> getAllTools() {
         List<Tool> tools = toolRepository.findAll();
-        for (Tool tool : tools) {
-            enrichOwnerNickname(tool);
-        }
+        batchEnricher.enrichTools(tools);
         return tools;
     }
 
+    @Transactional(readOnly = true)
+    public PageResult<Tool> searchTools(AdminToolQuery query) {
+        PageResult<Tool> page = PageResult.of(toolRepository.findAll(ToolSpecifications.matching(query),
+                PageRequests.of(query.getPage(), query.getSize(), query.getSort(), SORTABLE_PROPERTIES)));
+        batchEnricher.enrichTools(page.getItems());
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Tool> getPendingQueue(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_CATALOG_PAGE_SIZE : Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Tool> tools;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            tools = toolRepository.findQueuePageAfter(ToolStatus.PENDING_REVIEW, position.getTime(), position.getId(), limit);
+        } else {
+            tools = toolRepository.findQueueFirstPage(ToolStatus.PENDING_REVIEW, limit);
+        }
+
+        String nextCursor = null;
+        if (tools.size() > pageSize) {
+            tools = new ArrayList<>(tools.subList(0, pageSize));
+            Tool last = tools.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreateTime(), last.getId()).encode();
+        }
+        batchEnricher.enrichTools(tools);
+        return CursorPage.of(tools, nextCursor);
+    }
+
+    /**
+     * Leases up to {@code size} pending tools, oldest first, to the admin until the lease
+     * expires. Tools the admin already holds are renewed; expired leases of other admins
+     * are taken over, so abandoned work returns to the queue without a sweeper.
+     */
     @Transactional
-    public Tool auditTool(Long id, AuditRequest request) {
+    public AuditLeaseBatch claimAuditLeases(Long adminId, Integer size) {
+        int limit = size == null ? DEFAULT_AUDIT_LEASE_SIZE : Math.max(1, Math.min(size, MAX_AUDIT_LEASE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireTime = now.plusMinutes(auditLeaseMinutes);
+        List<Long> ids = toolRepository.claimAuditable(adminId, now, limit);
+        if (ids.isEmpty()) {
+            return new AuditLeaseBatch(null, new ArrayList<>());
+        }
+        toolRepository.leaseAll(ids, adminId, expireTime);
+        List<Tool> tools = toolRepository.findByIdInOrderByCreateTimeAscIdAsc(ids);
+        batchEnricher.enrichTools(tools);
+        return new AuditLeaseBatch(expireTime, tools);
+    }
+
+    @Transactional
+    public int releaseAuditLeases(Long adminId) {
+        return toolRepository.releaseLeases(adminId);
+    }
+
+    @Transactional
+    public Tool auditTool(Long adminId, Long id, AuditRequest request) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", id));
 
-        if ("approve".equalsIgnoreCase(request.getAction())) {
-            tool.setStatus(ToolStatus.AVAILABLE);
-        } else if ("reject".equalsIgnoreCase(request.getAction())) {
-            tool.setStatus(ToolStatus.REJECTED);
-        } else {
-            throw new BusinessException("Invalid audit action: " + request.getAction());
+        ToolStatus target = auditTarget(request.getAction());
+        if (!tool.getStatus().isAuditable()) {
+            throw new BusinessException("A " + tool.getStatus() + " tool cannot be audited");
         }
+        if (leasedToOther(tool, adminId, LocalDateTime.now())) {
+            throw new ConflictException("This tool is being reviewed by another administrator");
+        }
+        ToolStatus previous = tool.getStatus();
+        tool.setStatus(target);
+        tool.setAuditLeaseOwner(null);
+        tool.setAuditLeaseExpireTime(null);
 
         tool.setUpdateTime(LocalDateTime.now());
-        return toolRepository.save(tool);
+        Tool savedTool = toolRepository.save(tool);
+        domainEventBus.publish(new ToolChanged(savedTool.getId(), previous, target));
+        return savedTool;
+    }
+
+    @Transactional
+    public List<BatchAuditResult> auditBatch(Long adminId, BatchAuditRequest request) {
+        ToolStatus target = auditTarget(request.getAction());
+        List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Tool> tools = toolRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Tool::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BatchAuditResult> results = new LinkedHashMap<>();
+        List<Long> eligibleIds = new ArrayList<>();
+        for (Long id : ids) {
+            Tool tool = tools.get(id);
+            if (tool == null) {
+                results.put(id, auditFailed(id, null, "Tool not found"));
+            } else if (!tool.getStatus().isAuditable()) {
+                results.put(id, auditFailed(id, tool.getStatus(), "A " + tool.getStatus() + " tool cannot be audited"));
+            } else if (leasedToOther(tool, adminId, now)) {
+                results.put(id, auditFailed(id, tool.getStatus(), "This tool is being reviewed by another administrator"));
+            } else {
+                eligibleIds.add(id);
+            }
+        }
+
+        if (!eligibleIds.isEmpty()) {
+            // The guarded update re-checks status and lease on the current rows. When it moves fewer
+            // rows than expected, a re-read tells them apart: this transaction sees its own writes,
+            // while rows a concurrent audit moved still show the snapshot taken before the update.
+            int updated = toolRepository.auditAll(eligibleIds, ToolStatus.PENDING_REVIEW, target, adminId, now);
+            Set<Long> moved = updated == eligibleIds.size()
+                    ? Set.copyOf(eligibleIds)
+                    : toolRepository.findAllById(eligibleIds).stream()
+                            .filter(tool -> tool.getStatus() == target
+                                    && tool.getVersion() == tools.get(tool.getId()).getVersion() + 1)
+                            .map(Tool::getId)
+                            .collect(Collectors.toSet());
+            for (Long id : eligibleIds) {
+                ToolStatus previous = tools.get(id).getStatus();
+                if (moved.contains(id)) {
+                    results.put(id, BatchAuditResult.builder()
+                            .id(id)
+                            .success(true)
+                            .status(target)
+                            .build());
+                    domainEventBus.publish(new ToolChanged(id, previous, target));
+                } else {
+                    results.put(id, auditFailed(id, previous, "The tool was changed concurrently, please retry"));
+                }
+            }
+        }
+
+        return ids.stream().map(results::get).toList();
     }
 
     @Transactional
     public Tool forceOffline(Long id) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", id));
+        ToolStatus previous = tool.getStatus();
         tool.setStatus(ToolStatus.OFFLINE);
         tool.setUpdateTime(LocalDateTime.now());
-        return toolRepository.save(tool);
+        Tool savedTool = toolRepository.save(tool);
+        domainEventBus.publish(new ToolChanged(savedTool.getId(), previous, ToolStatus.OFFLINE));
+        return savedTool;
+    }
+
+    private static ToolStatus auditTarget(String action) {
+        if ("approve".equalsIgnoreCase(action)) {
+            return ToolStatus.AVAILABLE;
+        } else if ("reject".equalsIgnoreCase(action)) {
+            return ToolStatus.REJECTED;
+        }
+        throw new BusinessException("Invalid audit action: " + action);
+    }
+
+    private static boolean leasedToOther(Tool tool, Long adminId, LocalDateTime now) {
+        return tool.getAuditLeaseOwner() != null
+                && !tool.getAuditLeaseOwner().equals(adminId)
+                && tool.getAuditLeaseExpireTime() != null
+                && tool.getAuditLeaseExpireTime().isAfter(now);
+    }
+
+    private static BatchAuditResult auditFailed(Long id, ToolStatus status, String message) {
+        return BatchAuditResult.builder()
+                .id(id)
+                .success(false)
+                .status(status)
+                .message(message)
+                .build();
     }
 
     public long getToolCountByStatus(ToolStatus status) {
@@ -167,9 +455,34 @@ public class ToolService {
         return toolRepository.count();
     }
 
-    private void enrichOwnerNickname(Tool tool) {
-        userRepository.findById(tool.getUserId()).ifPresent(user ->
-                tool.setOwnerNickname(user.getNickname())
-        );
+    private List<Tool> loadInRankOrder(List<Long> rankedIds) {
+        Map<Long, Tool> byId = new HashMap<>();
+        for (List<Long> chunk : chunks(rankedIds)) {
+            for (Tool tool : toolRepository.findAllById(chunk)) {
+                if (tool.getStatus() == ToolStatus.AVAILABLE) {
+                    byId.put(tool.getId(), tool);
+                }
+            }
+        }
+        List<Tool> tools = new ArrayList<>(byId.size());
+        for (Long id : rankedIds) {
+            Tool tool = byId.get(id);
+            if (tool != null) {
+                tools.add(tool);
+            }
+        }
+        return tools;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += SEARCH_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + SEARCH_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
     }
 }
@@ -0,0 +1,82 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unread notification count per user, loaded from the database on first use and then
+ * adjusted in memory by the deltas NotificationService applies after each commit.
+ * Counters are reloaded after a TTL so any drift from a load racing a commit heals.
+ */
+@Component
+public class UnreadCounters {
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public UnreadCounters(NotificationRepository notificationRepository,
+                          @Value("${notification.unread-counter.max-size:10000}") int maxSize,
+                          @Value("${notification.unread-counter.ttl-seconds:600}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(userId);
+        if (counter == null || counter.expiresAtMillis <= now) {
+            Counter loaded = new Counter(notificationRepository.countByUserIdAndIsRead(userId, false), now + ttlMillis);
+            if (counter == null) {
+                Counter existing = counters.putIfAbsent(userId, loaded);
+                counter = existing != null ? existing : loaded;
+            } else {
+                counters.replace(userId, counter, loaded);
+                counter = counters.getOrDefault(userId, loaded);
+            }
+            if (counters.size() > maxSize) {
+                shrink(now);
+            }
+        }
+        return Math.max(0, counter.value.sum());
+    }
+
+    /**
+     * Applies a committed change; users without a loaded counter pick it up on their next load.
+     */
+    public void adjust(Long userId, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.value.add(delta);
+        }
+    }
+
+    private void shrink(long now) {
+        counters.values().removeIf(counter -> counter.expiresAtMillis <= now);
+        int target = maxSize - maxSize / 10;
+        Iterator<Long> keys = counters.keySet().iterator();
+        while (counters.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Counter {
+
+        private final LongAdder value = new LongAdder();
+        private final long expiresAtMillis;
+
+        private Counter(long initialValue, long expiresAtMillis) {
+            this.value.add(initialValue);
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.community.toolsharing.service;
 
+import com.community.toolsharing.dto.AdminUserQuery;
 import com.community.toolsharing.dto.LoginRequest;
+import com.community.toolsharing.dto.PageResult;
 import com.community.toolsharing.dto.ProfileUpdateRequest;
 import com.community.toolsharing.dto.RegisterRequest;
 import com.community.toolsharing.enums.PointType;
 import com.community.toolsharing.enums.UserRole;
+import com.community.toolsharing.event.DomainEventBus;
+import com.community.toolsharing.event.UserRegistered;
 import com.community.toolsharing.exception.BusinessException;
 import com.community.toolsharing.exception.ResourceNotFoundException;
 import com.community.toolsharing.model.User;
+import com.community.toolsharing.ranking.PointLeaderboard;
 import com.community.toolsharing.repository.UserRepository;
+import com.community.toolsharing.repository.UserSpecifications;
 import com.community.toolsharing.security.JwtTokenProvider;
+import com.community.toolsharing.security.PrincipalCache;
+import com.community.toolsharing.security.UserPrincipal;
+import com.community.toolsharing.util.PageRequests;
+import com.community.toolsharing.util.TransactionHooks;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,26 +28,38 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class UserService {
 
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "username", "points", "createTime");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
-    private final PointService pointService;
+    private final OutboxService outboxService;
+    private final DomainEventBus domainEventBus;
+    private final PrincipalCache principalCache;
+    private final PointLeaderboard pointLeaderboard;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager,
                        JwtTokenProvider jwtTokenProvider,
-                       PointService pointService) {
+                       OutboxService outboxService,
+                       DomainEventBus domainEventBus,
+                       PrincipalCache principalCache,
+                       PointLeaderboard pointLeaderboard) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.pointService = pointService;
+        this.outboxService = outboxService;
+        this.domainEventBus = domainEventBus;
+        this.principalCache = principalCache;
+        this.pointLeaderboard = pointLeaderboard;
     }
 
     @Transactional
@@ -57,8 +79,10 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> pointLeaderboard.track(savedUser));
 
-        pointService.addPoints(savedUser.getId(), 10, PointType.BONUS, "Registration bonus points");
+        outboxService.awardPoints(savedUser.getId(), 10, PointType.BONUS, "Registration bonus points");
+        domainEventBus.publish(new UserRegistered(savedUser.getId()));
 
         return savedUser;
     }
@@ -68,18 +92,18 @@ public class UserService {
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        return jwtTokenProvider.generateToken(request.getUsername());
+        return jwtTokenProvider.generateToken((UserPrincipal) authentication.getPrincipal());
     }
 
-    public User getProfile(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public User getProfile(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
     @Transactional
-    public User updateProfile(String username, ProfileUpdateRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    public User updateProfile(Long userId, ProfileUpdateRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         if (request.getNickname() != null) {
             user.setNickname(request.getNickname());
@@ -91,7 +115,9 @@ public class UserService {
             user.setPhone(request.getPhone());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> pointLeaderboard.track(savedUser));
+        return savedUser;
     }
 
     public User getUserById(Long id) {
@@ -103,12 +129,20 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public PageResult<User> searchUsers(AdminUserQuery query) {
+        return PageResult.of(userRepository.findAll(UserSpecifications.matching(query),
+                PageRequests.of(query.getPage(), query.getSize(), query.getSort(), SORTABLE_PROPERTIES)));
+    }
+
     @Transactional
     public User updateUserStatus(Long id, Integer status) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setStatus(status);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        TransactionHooks.afterCommit(() -> principalCache.evict(savedUser.getUsername()));
+        return savedUser;
     }
 
     public long getUserCount() {
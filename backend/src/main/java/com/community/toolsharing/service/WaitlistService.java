@@ -0,0 +1,112 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.WaitlistPosition;
+import com.community.toolsharing.enums.BorrowStatus;
+import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.exception.ResourceNotFoundException;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.model.WaitlistEntry;
+import com.community.toolsharing.repository.BorrowRecordRepository;
+import com.community.toolsharing.repository.IdNameView;
+import com.community.toolsharing.repository.ToolRepository;
+import com.community.toolsharing.repository.WaitlistEntryRepository;
+import com.community.toolsharing.util.TransactionHooks;
+import com.community.toolsharing.waitlist.ToolWaitlist;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ToolRepository toolRepository;
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final ToolWaitlist toolWaitlist;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+                           ToolRepository toolRepository,
+                           BorrowRecordRepository borrowRecordRepository,
+                           ToolWaitlist toolWaitlist) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.toolRepository = toolRepository;
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.toolWaitlist = toolWaitlist;
+    }
+
+    @Transactional
+    public WaitlistPosition join(Long userId, Long toolId) {
+        Tool tool = toolRepository.findById(toolId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tool", "id", toolId));
+
+        if (tool.getUserId().equals(userId)) {
+            throw new BusinessException("You cannot join the waitlist of your own tool");
+        }
+        if (tool.getStatus() == ToolStatus.AVAILABLE) {
+            throw new BusinessException("Tool is available, apply to borrow it directly");
+        }
+        if (tool.getStatus() != ToolStatus.BORROWED) {
+            throw new BusinessException("Tool is not available for borrowing");
+        }
+        if (toolWaitlist.contains(toolId, userId)) {
+            throw new BusinessException("You are already on the waitlist for this tool");
+        }
+
+        List<BorrowStatus> activeStatuses = Arrays.asList(
+                BorrowStatus.APPLIED, BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
+        if (borrowRecordRepository.existsByToolIdAndBorrowerIdAndStatusIn(toolId, userId, activeStatuses)) {
+            throw new BusinessException("You already have an active borrow request for this tool");
+        }
+
+        WaitlistEntry entry;
+        try {
+            entry = waitlistEntryRepository.saveAndFlush(WaitlistEntry.builder()
+                    .toolId(toolId)
+                    .userId(userId)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("You are already on the waitlist for this tool");
+        }
+        TransactionHooks.afterCommit(() -> toolWaitlist.join(toolId, userId));
+
+        return WaitlistPosition.builder()
+                .toolId(toolId)
+                .toolName(tool.getName())
+                .position(toolWaitlist.size(toolId) + 1)
+                .joinTime(entry.getCreateTime())
+                .build();
+    }
+
+    @Transactional
+    public void leave(Long userId, Long toolId) {
+        if (waitlistEntryRepository.deleteByToolIdAndUserId(toolId, userId) == 0) {
+            throw new BusinessException("You are not on the waitlist for this tool");
+        }
+        TransactionHooks.afterCommit(() -> toolWaitlist.leave(toolId, userId));
+    }
+
+    public List<WaitlistPosition> getMyWaitlist(Long userId) {
+        List<WaitlistEntry> entries = waitlistEntryRepository.findByUserIdOrderByIdAsc(userId);
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, String> toolNames = toolRepository.findNamesByIdIn(
+                        entries.stream().map(WaitlistEntry::getToolId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(IdNameView::getId, IdNameView::getName));
+        return entries.stream()
+                .map(entry -> WaitlistPosition.builder()
+                        .toolId(entry.getToolId())
+                        .toolName(toolNames.get(entry.getToolId()))
+                        .position(toolWaitlist.position(entry.getToolId(), userId))
+                        .joinTime(entry.getCreateTime())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
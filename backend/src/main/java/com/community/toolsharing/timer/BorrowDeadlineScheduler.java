@@ -0,0 +1,152 @@
+package com.community.toolsharing.timer;
+
+import com.community.toolsharing.enums.BorrowStatus;
+import com.community.toolsharing.model.BorrowRecord;
+import com.community.toolsharing.repository.BorrowRecordRepository;
+import com.community.toolsharing.service.BorrowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one pending deadline per open borrow record on a timing wheel: auto-reject
+ * for APPLIED, approval expiry for APPROVED and overdue reminders for PICKED_UP.
+ * Open records are loaded once at startup; afterwards BorrowService reschedules a
+ * record whenever it changes state, so borrow_records is never polled.
+ */
+@Component
+public class BorrowDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BorrowDeadlineScheduler.class);
+
+    private static final List<BorrowStatus> OPEN_STATUSES = List.of(
+            BorrowStatus.APPLIED, BorrowStatus.APPROVED, BorrowStatus.PICKED_UP);
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final BorrowRecordRepository borrowRecordRepository;
+    private final ObjectProvider<BorrowService> borrowService;
+    private final HierarchicalTimingWheel<Deadline> wheel;
+    private final Map<Long, HierarchicalTimingWheel.Timeout<Deadline>> pending = new ConcurrentHashMap<>();
+
+    private final Duration applyTimeout;
+    private final Duration pickupTimeout;
+    private final Duration loanPeriod;
+    private final Duration reminderInterval;
+    private final Duration retryDelay;
+
+    public BorrowDeadlineScheduler(BorrowRecordRepository borrowRecordRepository,
+                                   ObjectProvider<BorrowService> borrowService,
+                                   @Value("${borrow.deadline.tick-ms:1000}") long tickMillis,
+                                   @Value("${borrow.apply-timeout-hours:72}") long applyTimeoutHours,
+                                   @Value("${borrow.pickup-timeout-hours:48}") long pickupTimeoutHours,
+                                   @Value("${borrow.loan-days:14}") long loanDays,
+                                   @Value("${borrow.overdue-reminder-hours:24}") long reminderHours) {
+        this.borrowRecordRepository = borrowRecordRepository;
+        this.borrowService = borrowService;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        this.applyTimeout = Duration.ofHours(applyTimeoutHours);
+        this.pickupTimeout = Duration.ofHours(pickupTimeoutHours);
+        this.loanPeriod = Duration.ofDays(loanDays);
+        this.reminderInterval = Duration.ofHours(reminderHours);
+        this.retryDelay = Duration.ofSeconds(30);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<BorrowRecord> records = borrowRecordRepository.findByStatusIn(OPEN_STATUSES);
+        for (BorrowRecord record : records) {
+            // Records opened before due times existed get one derived from their timestamps.
+            LocalDateTime due = record.getDueTime() != null ? record.getDueTime() : dueTimeFor(record);
+            schedule(record.getId(), record.getStatus(), due);
+        }
+        logger.info("Borrow deadline scheduler loaded {} open records", records.size());
+    }
+
+    /**
+     * The deadline a record in its current state should carry, or null when it has none.
+     */
+    public LocalDateTime dueTimeFor(BorrowRecord record) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (record.getStatus()) {
+            case APPLIED -> orNow(record.getApplyTime(), now).plus(applyTimeout);
+            case APPROVED -> {
+                LocalDateTime from = orNow(record.getApproveTime(), now);
+                if (record.getStartTime() != null && record.getStartTime().isAfter(from)) {
+                    from = record.getStartTime();
+                }
+                yield from.plus(pickupTimeout);
+            }
+            case PICKED_UP -> record.getEndTime() != null
+                    ? record.getEndTime()
+                    : orNow(record.getPickupTime(), now).plus(loanPeriod);
+            case REJECTED, RETURNED -> null;
+        };
+    }
+
+    public LocalDateTime nextReminderTime() {
+        return LocalDateTime.now().plus(reminderInterval);
+    }
+
+    /**
+     * Replaces whatever deadline the record had with the one it now carries.
+     */
+    public void schedule(BorrowRecord record) {
+        if (record.getDueTime() == null || !OPEN_STATUSES.contains(record.getStatus())) {
+            cancel(record.getId());
+            return;
+        }
+        schedule(record.getId(), record.getStatus(), record.getDueTime());
+    }
+
+    public void cancel(Long recordId) {
+        HierarchicalTimingWheel.Timeout<Deadline> previous = pending.remove(recordId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${borrow.deadline.tick-ms:1000}")
+    public void tick() {
+        for (HierarchicalTimingWheel.Timeout<Deadline> timeout : wheel.advance(System.currentTimeMillis())) {
+            Deadline deadline = timeout.task();
+            pending.remove(deadline.recordId(), timeout);
+            try {
+                borrowService.getObject().handleDeadline(deadline.recordId(), deadline.status());
+            } catch (RuntimeException e) {
+                logger.warn("Deadline of borrow record {} failed, retrying: {}", deadline.recordId(), e.getMessage());
+                if (!pending.containsKey(deadline.recordId())) {
+                    schedule(deadline.recordId(), deadline.status(), LocalDateTime.now().plus(retryDelay));
+                }
+            }
+        }
+    }
+
+    private void schedule(Long recordId, BorrowStatus status, LocalDateTime due) {
+        long dueMillis = due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HierarchicalTimingWheel.Timeout<Deadline> previous =
+                pending.put(recordId, wheel.schedule(new Deadline(recordId, status), dueMillis));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private static LocalDateTime orNow(LocalDateTime time, LocalDateTime now) {
+        return time != null ? time : now;
+    }
+
+    private record Deadline(Long recordId, BorrowStatus status) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.community.toolsharing.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one bucket per tick; each higher level's
+ * buckets span a whole rotation of the level below. A timeout is dropped into the
+ * coarsest-fitting bucket in O(1) and is re-filed into a finer level when its bucket
+ * comes round, so every timeout moves at most once per level. Cancellation only flags
+ * the timeout; it is discarded when its bucket is next visited. Deadlines beyond the
+ * top level's range wait in the top level and are re-filed each rotation.
+ * The wheel is driven externally through {@link #advance(long)}.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] ticksPerBucket;
+    private final List<List<Timeout<T>>> buckets;
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.ticksPerBucket = new long[levels];
+        this.buckets = new ArrayList<>(levels * wheelSize);
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            ticksPerBucket[level] = span;
+            span = Math.multiplyExact(span, wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized Timeout<T> schedule(T task, long deadlineMillis) {
+        // Round up so a timeout never fires before its deadline.
+        Timeout<T> timeout = new Timeout<>(task, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        place(timeout, currentTick + 1);
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and returns the timeouts that expired.
+     */
+    public synchronized List<Timeout<T>> advance(long nowMillis) {
+        List<Timeout<T>> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = ticksPerBucket.length - 1; level > 0; level--) {
+                if (currentTick % ticksPerBucket[level] == 0) {
+                    for (Timeout<T> timeout : drain(level, currentTick)) {
+                        place(timeout, currentTick);
+                    }
+                }
+            }
+            for (Timeout<T> timeout : drain(0, currentTick)) {
+                if (timeout.deadlineTick <= currentTick) {
+                    expired.add(timeout);
+                } else {
+                    place(timeout, currentTick + 1);
+                }
+            }
+        }
+        return expired;
+    }
+
+    private void place(Timeout<T> timeout, long earliestTick) {
+        if (timeout.cancelled) {
+            return;
+        }
+        long deadline = Math.max(timeout.deadlineTick, earliestTick);
+        long delta = deadline - currentTick;
+        for (int level = 0; level < ticksPerBucket.length; level++) {
+            if (delta < ticksPerBucket[level] * wheelSize) {
+                bucket(level, deadline).add(timeout);
+                return;
+            }
+        }
+        bucket(ticksPerBucket.length - 1, currentTick).add(timeout);
+    }
+
+    private List<Timeout<T>> drain(int level, long tick) {
+        List<Timeout<T>> bucket = bucket(level, tick);
+        List<Timeout<T>> live = new ArrayList<>(bucket.size());
+        for (Timeout<T> timeout : bucket) {
+            if (!timeout.cancelled) {
+                live.add(timeout);
+            }
+        }
+        bucket.clear();
+        return live;
+    }
+
+    private List<Timeout<T>> bucket(int level, long tick) {
+        int index = (int) ((tick / ticksPerBucket[level]) % wheelSize);
+        return buckets.get(level * wheelSize + index);
+    }
+
+    public static final class Timeout<T> {
+
+        private final T task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
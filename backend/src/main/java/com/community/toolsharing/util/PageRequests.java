@@ -0,0 +1,44 @@
+package com.community.toolsharing.util;
+
+import com.community.toolsharing.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+public final class PageRequests {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private PageRequests() {
+    }
+
+    /**
+     * Builds a page request from raw query parameters. The sort parameter has the form
+     * {@code property[,asc|desc]} and must name one of the allowed properties; id is
+     * always appended as a tiebreaker so pages are stable.
+     */
+    public static PageRequest of(Integer page, Integer size, String sort, Set<String> sortable) {
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int pageSize = size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+        return PageRequest.of(pageNumber, pageSize, sort(sort, sortable));
+    }
+
+    public static Sort sort(String sort, Set<String> sortable) {
+        if (!StringUtils.hasText(sort)) {
+            return Sort.by(Sort.Direction.DESC, "id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!sortable.contains(property)) {
+            throw new BusinessException("Unsupported sort property: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElse(Sort.Direction.ASC)
+                : Sort.Direction.ASC;
+        Sort result = Sort.by(direction, property);
+        return "id".equals(property) ? result : result.and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.community.toolsharing.waitlist;
+
+import com.community.toolsharing.model.WaitlistEntry;
+import com.community.toolsharing.repository.WaitlistEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FIFO queue of waiting users per tool, mirrored from tool_waitlist. A linked hash
+ * set keeps arrival order while making join, leave and membership checks O(1).
+ * Rebuilt at startup; WaitlistService and BorrowService update it after commit.
+ */
+@Component
+public class ToolWaitlist {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolWaitlist.class);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final Map<Long, LinkedHashSet<Long>> queues = new HashMap<>();
+
+    public ToolWaitlist(WaitlistEntryRepository waitlistEntryRepository) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<WaitlistEntry> entries = waitlistEntryRepository.findAllByOrderByIdAsc();
+        synchronized (this) {
+            queues.clear();
+            for (WaitlistEntry entry : entries) {
+                queues.computeIfAbsent(entry.getToolId(), id -> new LinkedHashSet<>()).add(entry.getUserId());
+            }
+        }
+        logger.info("Tool waitlist built with {} entries", entries.size());
+    }
+
+    public synchronized void join(Long toolId, Long userId) {
+        queues.computeIfAbsent(toolId, id -> new LinkedHashSet<>()).add(userId);
+    }
+
+    public synchronized void leave(Long toolId, Long userId) {
+        LinkedHashSet<Long> queue = queues.get(toolId);
+        if (queue != null && queue.remove(userId) && queue.isEmpty()) {
+            queues.remove(toolId);
+        }
+    }
+
+    public synchronized boolean contains(Long toolId, Long userId) {
+        LinkedHashSet<Long> queue = queues.get(toolId);
+        return queue != null && queue.contains(userId);
+    }
+
+    /**
+     * Waiting users of the tool in arrival order.
+     */
+    public synchronized List<Long> queue(Long toolId) {
+        LinkedHashSet<Long> queue = queues.get(toolId);
+        return queue == null ? new ArrayList<>() : new ArrayList<>(queue);
+    }
+
+    /**
+     * One-based position of the user in the tool's queue, or 0 when not waiting.
+     */
+    public synchronized int position(Long toolId, Long userId) {
+        LinkedHashSet<Long> queue = queues.get(toolId);
+        if (queue == null) {
+            return 0;
+        }
+        int position = 1;
+        for (Long waiting : queue) {
+            if (waiting.equals(userId)) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    public synchronized int size(Long toolId) {
+        LinkedHashSet<Long> queue = queues.get(toolId);
+        return queue == null ? 0 : queue.size();
+    }
+}
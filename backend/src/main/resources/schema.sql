@@ -22,8 +22,16 @@ CREATE TABLE IF NOT EXISTS tools (
     status ENUM('PENDING_REVIEW', 'APPROVED', 'REJECTED', 'AVAILABLE', 'BORROWED', 'OFFLINE') DEFAULT 'PENDING_REVIEW',
     tool_condition VARCHAR(50),
     location VARCHAR(200),
+    version BIGINT NOT NULL DEFAULT 0,
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    audit_lease_owner BIGINT,
+    audit_lease_expire_time DATETIME,
+    avg_rating DECIMAL(3,2) NOT NULL DEFAULT 0,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_tools_status_create_time (status, create_time, id),
+    INDEX idx_tools_status_avg_rating (status, avg_rating, id),
+    INDEX idx_tools_update_time (update_time),
     FOREIGN KEY (user_id) REFERENCES users(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -33,11 +41,17 @@ CREATE TABLE IF NOT EXISTS borrow_records (
     borrower_id BIGINT NOT NULL,
     owner_id BIGINT NOT NULL,
     status ENUM('APPLIED', 'APPROVED', 'REJECTED', 'PICKED_UP', 'RETURNED') DEFAULT 'APPLIED',
+    start_time DATETIME,
+    end_time DATETIME,
     apply_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     approve_time DATETIME,
     pickup_time DATETIME,
     return_time DATETIME,
+    due_time DATETIME,
     remark VARCHAR(500),
+    version BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_borrow_records_status_due_time (status, due_time),
+    INDEX idx_borrow_records_tool_status (tool_id, status),
     FOREIGN KEY (tool_id) REFERENCES tools(id),
     FOREIGN KEY (borrower_id) REFERENCES users(id),
     FOREIGN KEY (owner_id) REFERENCES users(id)
@@ -51,9 +65,9 @@ CREATE TABLE IF NOT EXISTS reviews (
     rating INT NOT NULL,
     content TEXT,
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (borrow_record_id) REFERENCES borrow_records(id),
-    FOREIGN KEY (reviewer_id) REFERENCES users(id),
-    FOREIGN KEY (tool_id) REFERENCES tools(id)
+    INDEX idx_reviews_borrow_record (borrow_record_id),
+    CONSTRAINT fk_reviews_reviewer FOREIGN KEY (reviewer_id) REFERENCES users(id),
+    CONSTRAINT fk_reviews_tool FOREIGN KEY (tool_id) REFERENCES tools(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE IF NOT EXISTS point_records (
@@ -88,3 +102,96 @@ CREATE TABLE IF NOT EXISTS notifications (
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at DATETIME NOT NULL,
+    last_error VARCHAR(500),
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_outbox_status_available (status, available_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS tool_waitlist (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tool_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_waitlist_tool_user (tool_id, user_id),
+    FOREIGN KEY (tool_id) REFERENCES tools(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Finished borrow records are moved here once they are old enough; reviews keep
+-- pointing at them by id, so reviews.borrow_record_id has no foreign key. Databases
+-- created by an earlier version of this script still carry it as reviews_ibfk_1.
+ALTER TABLE reviews DROP FOREIGN KEY reviews_ibfk_1;
+
+CREATE TABLE IF NOT EXISTS borrow_records_archive (
+    id BIGINT PRIMARY KEY,
+    tool_id BIGINT NOT NULL,
+    borrower_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(20),
+    start_time DATETIME,
+    end_time DATETIME,
+    apply_time DATETIME,
+    approve_time DATETIME,
+    pickup_time DATETIME,
+    return_time DATETIME,
+    remark VARCHAR(500),
+    archive_time DATETIME,
+    INDEX idx_borrow_archive_borrower (borrower_id, id),
+    INDEX idx_borrow_archive_owner (owner_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    scope_key VARCHAR(200) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INT NOT NULL,
+    content_type VARCHAR(100),
+    body MEDIUMTEXT,
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    expire_time DATETIME NOT NULL,
+    UNIQUE KEY uk_idempotency_scope_key (scope_key),
+    INDEX idx_idempotency_expire_time (expire_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS analytics_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    metric VARCHAR(40) NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_rollup_bucket (metric, granularity, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS tool_rating_stats (
+    tool_id BIGINT PRIMARY KEY,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    avg_rating DECIMAL(3,2) NOT NULL DEFAULT 0,
+    update_time DATETIME
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS owner_rating_stats (
+    owner_id BIGINT PRIMARY KEY,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    avg_rating DECIMAL(3,2) NOT NULL DEFAULT 0,
+    update_time DATETIME
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,181 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.PointAward;
+import com.community.toolsharing.enums.PointType;
+import com.community.toolsharing.enums.UserRole;
+import com.community.toolsharing.model.PointRecord;
+import com.community.toolsharing.model.User;
+import com.community.toolsharing.repository.PointRecordRepository;
+import com.community.toolsharing.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PointServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 250;
+    private static final int AWARDS_PER_USER_PER_BATCH = 2;
+    private static final int OUTBOX_AWARDS_PER_THREAD = 500;
+    private static final int DISPATCHERS = 4;
+    private static final int POINTS_PER_AWARD = 3;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointRecordRepository pointRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> createdUserIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        for (Long userId : createdUserIds) {
+            pointRecordRepository.deleteAll(pointRecordRepository.findByUserIdOrderByCreateTimeDesc(userId));
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Test
+    void parallelBatchesToSharedUsersLoseNoUpdates() throws Exception {
+        Long first = createUser("points-batch-a");
+        Long second = createUser("points-batch-b");
+
+        // Alternate the order users appear in so batches would deadlock without the sorted increments.
+        runInParallel(THREADS, thread -> {
+            for (int i = 0; i < BATCHES_PER_THREAD; i++) {
+                boolean reversed = (thread + i) % 2 == 0;
+                List<PointAward> awards = new ArrayList<>();
+                for (int j = 0; j < AWARDS_PER_USER_PER_BATCH; j++) {
+                    awards.add(award(reversed ? second : first));
+                    awards.add(award(reversed ? first : second));
+                }
+                pointService.addPoints(awards);
+            }
+        });
+
+        int expectedAwards = THREADS * BATCHES_PER_THREAD * AWARDS_PER_USER_PER_BATCH;
+        assertLedgerMatchesBalance(first, expectedAwards);
+        assertLedgerMatchesBalance(second, expectedAwards);
+    }
+
+    @Test
+    void outboxAwardsDrainedByParallelDispatchersLoseNoUpdates() throws Exception {
+        Long userId = createUser("points-outbox");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int expectedAwards = THREADS * OUTBOX_AWARDS_PER_THREAD;
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        ExecutorService dispatchers = Executors.newFixedThreadPool(DISPATCHERS);
+        List<Future<?>> running = new ArrayList<>();
+        try {
+            for (int d = 0; d < DISPATCHERS; d++) {
+                running.add(dispatchers.submit(() -> {
+                    while (producing.get() || pointRecordRepository.findByUserIdOrderByCreateTimeDesc(userId).size()
+                            < expectedAwards) {
+                        outboxDispatcher.dispatch();
+                        Thread.sleep(10);
+                    }
+                    return null;
+                }));
+            }
+
+            runInParallel(THREADS, thread -> {
+                for (int i = 0; i < OUTBOX_AWARDS_PER_THREAD; i++) {
+                    transactionTemplate.executeWithoutResult(status -> outboxService.awardPoints(
+                            userId, POINTS_PER_AWARD, PointType.BONUS, "Concurrency test"));
+                }
+            });
+            producing.set(false);
+            for (Future<?> dispatcher : running) {
+                dispatcher.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            dispatchers.shutdownNow();
+        }
+
+        assertLedgerMatchesBalance(userId, expectedAwards);
+    }
+
+    private Long createUser(String username) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .password("password")
+                .nickname("Concurrency")
+                .role(UserRole.USER)
+                .build());
+        createdUserIds.add(user.getId());
+        return user.getId();
+    }
+
+    private static PointAward award(Long userId) {
+        return new PointAward(userId, POINTS_PER_AWARD, PointType.BONUS, "Concurrency test");
+    }
+
+    private void assertLedgerMatchesBalance(Long userId, int expectedAwards) {
+        List<PointRecord> ledger = pointRecordRepository.findByUserIdOrderByCreateTimeDesc(userId);
+        int ledgerSum = ledger.stream().mapToInt(PointRecord::getPoints).sum();
+        int balance = userRepository.findById(userId).orElseThrow().getPoints();
+
+        assertEquals(expectedAwards, ledger.size());
+        assertEquals(expectedAwards * POINTS_PER_AWARD, ledgerSum);
+        assertEquals(ledgerSum, balance);
+    }
+
+    private static void runInParallel(int threads, ThreadBody body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
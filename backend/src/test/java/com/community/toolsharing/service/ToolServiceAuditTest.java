@@ -0,0 +1,90 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.AuditRequest;
+import com.community.toolsharing.dto.BatchAuditRequest;
+import com.community.toolsharing.dto.BatchAuditResult;
+import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.exception.BusinessException;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.repository.ToolRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ToolServiceAuditTest {
+
+    private static final Long ADMIN_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    @Autowired
+    private ToolService toolService;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    private final List<Long> createdToolIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteTools() {
+        toolRepository.deleteAllById(createdToolIds);
+    }
+
+    @Test
+    void approvingALentOutToolIsRejected() {
+        Long id = saveTool(ToolStatus.BORROWED);
+
+        assertThrows(BusinessException.class,
+                () -> toolService.auditTool(ADMIN_ID, id, new AuditRequest("approve", null)));
+
+        assertEquals(ToolStatus.BORROWED, toolRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approvingAPendingToolMakesItAvailable() {
+        Long id = saveTool(ToolStatus.PENDING_REVIEW);
+
+        Tool audited = toolService.auditTool(ADMIN_ID, id, new AuditRequest("approve", null));
+
+        assertEquals(ToolStatus.AVAILABLE, audited.getStatus());
+    }
+
+    @Test
+    void batchApprovalMovesOnlyPendingTools() {
+        Long pendingId = saveTool(ToolStatus.PENDING_REVIEW);
+        Long lentId = saveTool(ToolStatus.BORROWED);
+        Long offlineId = saveTool(ToolStatus.OFFLINE);
+
+        List<BatchAuditResult> results = toolService.auditBatch(ADMIN_ID,
+                new BatchAuditRequest(List.of(pendingId, lentId, offlineId), "approve", null));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(ToolStatus.AVAILABLE, toolRepository.findById(pendingId).orElseThrow().getStatus());
+        assertEquals(ToolStatus.BORROWED, toolRepository.findById(lentId).orElseThrow().getStatus());
+        assertEquals(ToolStatus.OFFLINE, toolRepository.findById(offlineId).orElseThrow().getStatus());
+    }
+
+    private Long saveTool(ToolStatus status) {
+        Tool tool = toolRepository.save(Tool.builder()
+                .userId(OWNER_ID)
+                .name("Audit test drill")
+                .category("Power tools")
+                .status(status)
+                .build());
+        createdToolIds.add(tool.getId());
+        return tool.getId();
+    }
+}
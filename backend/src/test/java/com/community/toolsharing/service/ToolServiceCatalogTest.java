@@ -0,0 +1,73 @@
+package com.community.toolsharing.service;
+
+import com.community.toolsharing.dto.CursorPage;
+import com.community.toolsharing.dto.ToolCatalogQuery;
+import com.community.toolsharing.enums.ToolStatus;
+import com.community.toolsharing.model.Tool;
+import com.community.toolsharing.repository.ToolRepository;
+import com.community.toolsharing.search.ToolSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ToolServiceCatalogTest {
+
+    private static final int MATCHING_TOOLS = 2500;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private ToolService toolService;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private ToolSearchIndex toolSearchIndex;
+
+    private final List<Long> createdToolIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteTools() {
+        toolRepository.deleteAllById(createdToolIds);
+        toolSearchIndex.rebuild();
+    }
+
+    @Test
+    void keywordPagingReachesEveryMatch() {
+        List<Tool> tools = new ArrayList<>();
+        for (int i = 0; i < MATCHING_TOOLS; i++) {
+            tools.add(Tool.builder()
+                    .userId(1L)
+                    .name("Catalog paging wrench " + i)
+                    .category("Hand tools")
+                    .status(ToolStatus.AVAILABLE)
+                    .build());
+        }
+        toolRepository.saveAll(tools).forEach(tool -> createdToolIds.add(tool.getId()));
+        toolSearchIndex.rebuild();
+
+        for (String sort : new String[]{null, "rating"}) {
+            Set<Long> seen = new HashSet<>();
+            String cursor = null;
+            do {
+                CursorPage<Tool> page = toolService.getToolCatalog(
+                        new ToolCatalogQuery(null, null, null, "wrench", sort, cursor, PAGE_SIZE));
+                page.getItems().forEach(tool -> seen.add(tool.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(MATCHING_TOOLS, seen.size());
+        }
+    }
+}
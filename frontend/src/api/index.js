@@ -127,6 +127,11 @@ export const api = {
     },
     markAllRead() {
       return request.put('/notifications/read-all')
+    },
+    // EventSource 无法设置请求头，Token 通过查询参数传递
+    openStream() {
+      const token = localStorage.getItem('token')
+      return new EventSource(`/api/notifications/stream?access_token=${encodeURIComponent(token)}`)
     }
   },
   announcements: {